@@ -0,0 +1,67 @@
+package com.sky.constant;
+
+/**
+ * 缓存相关常量
+ */
+public class CacheConstant {
+
+	/**
+	 * 按分类缓存的菜品列表，key 为 dish_{categoryId}
+	 */
+	public static final String DISH_KEY_PREFIX = "dish_";
+
+	/**
+	 * 按分类缓存的套餐列表，key 为 setmeal_{categoryId}
+	 */
+	public static final String SETMEAL_KEY_PREFIX = "setmeal_";
+
+	/**
+	 * 按套餐缓存的菜品明细，key 为 setmealDish_{setmealId}
+	 */
+	public static final String SETMEAL_DISH_KEY_PREFIX = "setmealDish_";
+
+	/**
+	 * MyBatis 二级缓存，key 为 mybatis:{namespace}:{查询摘要}
+	 */
+	public static final String MYBATIS_KEY_PREFIX = "mybatis:";
+
+	/**
+	 * 菜单快照失效消息
+	 */
+	public static final String MENU_SNAPSHOT = "menu";
+
+	/**
+	 * 分类名称字典失效消息
+	 */
+	public static final String CATEGORY_NAME = "categoryName";
+
+	/**
+	 * 缓存失效广播频道，通知其他节点清理本地缓存
+	 */
+	public static final String EVICT_CHANNEL = "cache:evict";
+
+	/**
+	 * id布隆过滤器新增广播频道，消息格式为 {类型}:{id}
+	 */
+	public static final String BLOOM_CHANNEL = "cache:bloom";
+
+	/**
+	 * 名称检索索引变更广播频道，新增或修改为 {类型}:{id}:{名称}，删除为 {类型}:{id,id...}
+	 */
+	public static final String NAME_INDEX_CHANNEL = "cache:nameIndex";
+
+	/**
+	 * 搜索联想变更广播频道，消息格式为 {类型}:{id,id...}，全量重建为 *
+	 */
+	public static final String AUTOCOMPLETE_CHANNEL = "cache:autocomplete";
+
+	/**
+	 * 分页总数缓存失效广播频道，消息为 Mapper 命名空间
+	 */
+	public static final String PAGE_COUNT_CHANNEL = "cache:pageCount";
+
+	/**
+	 * 使用分页总数缓存的 Mapper 命名空间集合，新启动的节点据此判断写语句是否需要发送失效通知
+	 */
+	public static final String PAGE_COUNT_NAMESPACES = "cache:pageCount:namespaces";
+}
@@ -24,5 +24,8 @@ public class MessageConstant {
     public static final String DISH_BE_RELATED_BY_SETMEAL = "当前菜品关联了套餐，不能删除";
     public static final String ORDER_STATUS_ERROR = "订单状态错误";
     public static final String ORDER_NOT_FOUND = "订单不存在";
+    public static final String ORDER_CURSOR_INVALID = "分页游标无效";
 	public static final String DISH_RELATED_BY_SETMEAL_WHICH_IS_ON_SALE = "菜品关联的套餐正在售卖，不能停售";
+	public static final String DISH_PRICE_TARGET_REQUIRED = "请选择调价的分类或菜品";
+	public static final String DISH_PRICE_CHANGE_REQUIRED = "请填写调价的百分比或金额";
 }
@@ -0,0 +1,23 @@
+package com.sky.enumeration;
+
+/**
+ * 菜单数据类型
+ */
+public enum CatalogType {
+
+    /**
+     * 分类
+     */
+    CATEGORY,
+
+    /**
+     * 菜品
+     */
+    DISH,
+
+    /**
+     * 套餐
+     */
+    SETMEAL
+
+}
@@ -0,0 +1,28 @@
+package com.sky.enumeration;
+
+/**
+ * 名称检索索引类型
+ */
+public enum NameIndexType {
+
+    /**
+     * 分类
+     */
+    CATEGORY,
+
+    /**
+     * 菜品
+     */
+    DISH,
+
+    /**
+     * 套餐
+     */
+    SETMEAL,
+
+    /**
+     * 员工
+     */
+    EMPLOYEE
+
+}
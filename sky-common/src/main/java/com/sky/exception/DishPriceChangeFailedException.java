@@ -0,0 +1,13 @@
+package com.sky.exception;
+
+/**
+ * 菜品批量调价失败异常
+ */
+public class DishPriceChangeFailedException extends BaseException {
+
+    public DishPriceChangeFailedException(){}
+
+    public DishPriceChangeFailedException(String msg){
+        super(msg);
+    }
+}
@@ -0,0 +1,113 @@
+package com.sky.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "sky.cache")
+@Data
+public class CatalogCacheProperties {
+
+	/**
+	 * 本地（一级）缓存最大条目数
+	 */
+	private long localMaximumSize = 1000;
+
+	/**
+	 * 本地（一级）缓存写入后的存活时间
+	 */
+	private Duration localTtl = Duration.ofSeconds(60);
+
+	/**
+	 * Redis（二级）缓存的存活时间，作为失效消息丢失时的兜底
+	 */
+	private Duration redisTtl = Duration.ofHours(1);
+
+	/**
+	 * 跨节点重建缓存的租约时长，超过后其他节点可以自行回源
+	 */
+	private Duration leaseTtl = Duration.ofSeconds(3);
+
+	/**
+	 * 等待其他节点回填缓存时的轮询间隔
+	 */
+	private Duration leaseWaitInterval = Duration.ofMillis(50);
+
+	/**
+	 * id布隆过滤器的目标误判率
+	 */
+	private double bloomFpp = 0.01;
+
+	/**
+	 * id布隆过滤器的全量重建间隔，作为新增通知丢失时的兜底
+	 */
+	private Duration bloomRebuild = Duration.ofMinutes(30);
+
+	/**
+	 * 热点key统计的采样率，只对部分读请求计数以降低开销
+	 */
+	private double hotKeySampleRate = 0.1;
+
+	/**
+	 * 热点key统计的滑动窗口长度
+	 */
+	private Duration hotKeyWindow = Duration.ofSeconds(10);
+
+	/**
+	 * 滑动窗口内的估算读次数达到该值时提升为本地副本，降到一半以下时撤销
+	 */
+	private long hotKeyThreshold = 500;
+
+	/**
+	 * 热点key本地副本的存活时间
+	 */
+	private Duration hotKeyReplicaTtl = Duration.ofSeconds(2);
+
+	/**
+	 * 缓存预热时同时查询数据库的最大并发数，避免预热压垮数据库
+	 */
+	private int warmUpConcurrency = 8;
+
+	/**
+	 * 是否以紧凑格式写入菜单缓存，关闭时仍可读取紧凑格式，便于分批发布和回退
+	 */
+	private boolean compactSerializer = true;
+
+	/**
+	 * 紧凑格式的 JSON 超过该字节数时使用 LZ4 压缩
+	 */
+	private int compressThreshold = 1024;
+
+	/**
+	 * 搜索联想按销量排序，销量的重新统计间隔
+	 */
+	private Duration autocompleteScoreRefresh = Duration.ofMinutes(10);
+
+	/**
+	 * 分页总数缓存的最大条目数
+	 */
+	private long pageCountMaximumSize = 2000;
+
+	/**
+	 * 分页总数缓存的存活时间，作为失效消息丢失时的兜底
+	 */
+	private Duration pageCountTtl = Duration.ofMinutes(5);
+
+	/**
+	 * 名称索引的全量重建间隔，作为变更消息丢失时的兜底
+	 */
+	private Duration nameIndexRebuild = Duration.ofMinutes(30);
+
+	/**
+	 * 名称索引超过该时间没有成功重建时视为过期，分页查询退回 like
+	 */
+	private Duration nameIndexMaxStale = Duration.ofHours(1);
+
+	/**
+	 * 名称关键字在索引中匹配的id超过该数量时退回 like，避免过长的 id in (...)
+	 */
+	private int nameIndexMaxIds = 1000;
+}
@@ -19,4 +19,10 @@ public class PageResult<T> implements Serializable {
 
     private List<T> records; //当前页数据集合
 
+    private Boolean totalExact; //总记录数是否精确，估算时为下限
+
+    public PageResult(Long total, List<T> records) {
+        this(total, records, true);
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.sky.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作工具类，将过长的 in 列表拆分为多批执行，避免单条 SQL 过大
+ */
+public class BatchUtils {
+
+	/**
+	 * 单条 SQL 中 in 列表的默认最大长度
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	private BatchUtils() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * 按默认批大小拆分列表
+	 * @param list 原列表
+	 * @return 拆分后的子列表，共享原列表的数据
+	 */
+	public static <T> List<List<T>> partition(List<T> list) {
+		return partition(list, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * 按指定批大小拆分列表
+	 * @param list 原列表
+	 * @param size 每批最大长度
+	 * @return 拆分后的子列表，共享原列表的数据
+	 */
+	public static <T> List<List<T>> partition(List<T> list, int size) {
+		List<List<T>> batches = new ArrayList<>((list.size() + size - 1) / size);
+		for (int from = 0; from < list.size(); from += size) {
+			batches.add(list.subList(from, Math.min(from + size, list.size())));
+		}
+		return batches;
+	}
+}
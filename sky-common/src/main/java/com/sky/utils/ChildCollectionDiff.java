@@ -0,0 +1,99 @@
+package com.sky.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 子表数据差异比较工具，用于修改主表时同步子表（如菜品口味、套餐菜品）
+ * 按业务键将提交的数据与数据库中的现有数据逐条比较，得出需要新增、修改和删除的部分，
+ * 避免每次修改都删除全部子表数据后重新插入。
+ * @param <T> 子表实体类型
+ */
+public class ChildCollectionDiff<T> {
+
+	private final List<T> inserts = new ArrayList<>();
+	private final List<T> updates = new ArrayList<>();
+	private final List<Long> deleteIds = new ArrayList<>();
+
+	private ChildCollectionDiff() {
+	}
+
+	/**
+	 * 比较现有数据和提交的数据
+	 * @param current 数据库中的现有数据
+	 * @param incoming 提交的数据
+	 * @param key 业务键，同一主表下唯一，例如口味名称、菜品id
+	 * @param getId 获取主键
+	 * @param setId 设置主键，匹配成功的提交数据沿用现有数据的主键
+	 * @param sameContent 判断两条数据除主键外的内容是否相同
+	 * @return 比较结果
+	 */
+	public static <T, K> ChildCollectionDiff<T> compare(List<T> current, List<T> incoming, Function<T, K> key,
+	                                                    Function<T, Long> getId, BiConsumer<T, Long> setId,
+	                                                    BiPredicate<T, T> sameContent) {
+		ChildCollectionDiff<T> diff = new ChildCollectionDiff<>();
+		Map<K, T> remaining = new LinkedHashMap<>();
+		if (current != null) {
+			current.forEach(item -> remaining.putIfAbsent(key.apply(item), item));
+		}
+		Set<Long> keptIds = new HashSet<>();
+		if (incoming != null) {
+			for (T item : incoming) {
+				T existing = remaining.remove(key.apply(item));
+				if (existing == null) {
+					setId.accept(item, null);
+					diff.inserts.add(item);
+					continue;
+				}
+				keptIds.add(getId.apply(existing));
+				setId.accept(item, getId.apply(existing));
+				if (!sameContent.test(existing, item)) {
+					diff.updates.add(item);
+				}
+			}
+		}
+		// 未被匹配的现有数据（包括业务键重复的多余记录）都需要删除
+		if (current != null) {
+			current.stream()
+					.map(getId)
+					.filter(id -> !keptIds.contains(id))
+					.forEach(diff.deleteIds::add);
+		}
+		return diff;
+	}
+
+	/**
+	 * 需要新增的数据
+	 */
+	public List<T> getInserts() {
+		return inserts;
+	}
+
+	/**
+	 * 需要修改的数据，主键已沿用现有数据
+	 */
+	public List<T> getUpdates() {
+		return updates;
+	}
+
+	/**
+	 * 需要删除的数据主键
+	 */
+	public List<Long> getDeleteIds() {
+		return deleteIds;
+	}
+
+	/**
+	 * 是否没有任何变化
+	 */
+	public boolean isEmpty() {
+		return inserts.isEmpty() && updates.isEmpty() && deleteIds.isEmpty();
+	}
+}
@@ -19,4 +19,7 @@ public class CategoryPageQueryDTO implements Serializable {
     //分类类型 1 菜品分类  2 套餐分类
     private Integer type;
 
+    //是否接受估算的总记录数，为 true 且总数未缓存时不执行 count 查询
+    private Boolean estimate;
+
 }
@@ -0,0 +1,24 @@
+package com.sky.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class DishPriceDTO implements Serializable {
+
+    //按分类调价时的分类id，与ids二选一
+    private Long categoryId;
+
+    //按菜品调价时的菜品id集合，与categoryId二选一
+    private List<Long> ids;
+
+    //按百分比调价，例如 10 表示上调 10%，-10 表示下调 10%，与amount二选一
+    private BigDecimal percent;
+
+    //按金额调价，例如 2 表示每个菜品上调 2 元，与percent二选一
+    private BigDecimal amount;
+
+}
@@ -16,4 +16,7 @@ public class EmployeePageQueryDTO implements Serializable {
     //每页显示记录数
     private int pageSize;
 
+    //是否接受估算的总记录数，为 true 且总数未缓存时不执行 count 查询
+    private Boolean estimate;
+
 }
@@ -27,4 +27,10 @@ public class OrdersPageQueryDTO implements Serializable {
 
     private Long userId;
 
+    //上一页返回的游标，为空时查询第一页
+    private String cursor;
+
+    //是否统计总记录数，统计需要额外执行 count 查询
+    private Boolean count;
+
 }
@@ -19,4 +19,7 @@ public class SetmealPageQueryDTO implements Serializable {
     //状态 0表示禁用 1表示启用
     private Integer status;
 
+    //是否接受估算的总记录数，为 true 且总数未缓存时不执行 count 查询
+    private Boolean estimate;
+
 }
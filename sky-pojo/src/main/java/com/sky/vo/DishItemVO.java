@@ -1,5 +1,6 @@
 package com.sky.vo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,10 @@ import java.io.Serializable;
 @AllArgsConstructor
 public class DishItemVO implements Serializable {
 
+    //所属套餐id，只用于批量查询时分组，不返回也不写入缓存
+    @JsonIgnore
+    private Long setmealId;
+
     //菜品名称
     private String name;
 
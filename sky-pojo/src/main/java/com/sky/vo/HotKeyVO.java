@@ -0,0 +1,25 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyVO implements Serializable {
+
+    //Redis key
+    private String key;
+
+    //滑动窗口内的估算读次数
+    private Long estimatedReads;
+
+    //提升为本地副本的时间
+    private LocalDateTime promotedTime;
+}
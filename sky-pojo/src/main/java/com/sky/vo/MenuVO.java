@@ -0,0 +1,30 @@
+package com.sky.vo;
+
+import com.sky.entity.Category;
+import com.sky.entity.Setmeal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * C端完整菜单：启用的分类、启售的菜品（含口味）和启售的套餐
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuVO implements Serializable {
+
+    //启用的分类，按 sort 排序
+    private List<Category> categories;
+
+    //启售的菜品及其口味
+    private List<DishVO> dishes;
+
+    //启售的套餐
+    private List<Setmeal> setmeals;
+}
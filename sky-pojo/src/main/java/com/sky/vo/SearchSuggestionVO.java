@@ -0,0 +1,34 @@
+package com.sky.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionVO implements Serializable {
+
+    //菜品或套餐id
+    private Long id;
+
+    //类型 1 菜品 2 套餐
+    private Integer type;
+
+    //名称
+    private String name;
+
+    //分类id
+    private Long categoryId;
+
+    //价格
+    private BigDecimal price;
+
+    //图片
+    private String image;
+}
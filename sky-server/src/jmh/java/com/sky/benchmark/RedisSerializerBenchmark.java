@@ -0,0 +1,111 @@
+package com.sky.benchmark;
+
+import com.sky.cache.CompactRedisSerializer;
+import com.sky.entity.DishFlavor;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.vo.DishVO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 菜单缓存值序列化基准测试
+ * 对比 GenericJackson2JsonRedisSerializer 与 CompactRedisSerializer（不压缩、LZ4 压缩）的吞吐量，
+ * 初始化时输出每种格式序列化后的字节数。
+ * 运行：mvn -Pjmh -pl sky-server -am verify -DskipTests
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+	/**
+	 * legacy：GenericJackson2JsonRedisSerializer；compact：紧凑格式不压缩；lz4：紧凑格式超过默认阈值时压缩
+	 */
+	@Param({"legacy", "compact", "lz4"})
+	private String format;
+
+	/**
+	 * 一个分类下的菜品数量
+	 */
+	@Param({"10", "50", "200"})
+	private int size;
+
+	private RedisSerializer<Object> serializer;
+	private List<DishVO> value;
+	private byte[] bytes;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		RedisSerializer<Object> legacySerializer = GenericJackson2JsonRedisSerializer.builder()
+				.objectMapper(new JacksonObjectMapper())
+				.defaultTyping(true)
+				.build();
+		serializer = switch (format) {
+			case "legacy" -> legacySerializer;
+			case "compact" -> new CompactRedisSerializer(legacySerializer, true, Integer.MAX_VALUE, new SimpleMeterRegistry());
+			case "lz4" -> new CompactRedisSerializer(legacySerializer, true, 1024, new SimpleMeterRegistry());
+			default -> throw new IllegalArgumentException("未知的序列化格式：" + format);
+		};
+		value = dishes(size);
+		bytes = serializer.serialize(value);
+		System.out.printf("%n序列化格式：%s，菜品数量：%d，字节数：%d%n", format, size, bytes.length);
+	}
+
+	@Benchmark
+	public byte[] serialize() {
+		return serializer.serialize(value);
+	}
+
+	@Benchmark
+	public Object deserialize() {
+		return serializer.deserialize(bytes);
+	}
+
+	/**
+	 * 构造与 C 端菜品列表缓存相同结构的数据，每个菜品带两个口味
+	 */
+	private static List<DishVO> dishes(int size) {
+		LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+		List<DishVO> dishes = new ArrayList<>(size);
+		for (long i = 1; i <= size; i++) {
+			List<DishFlavor> flavors = new ArrayList<>();
+			flavors.add(DishFlavor.builder().id(i * 2).dishId(i).name("辣度").value("[\"不辣\",\"微辣\",\"中辣\",\"重辣\"]").build());
+			flavors.add(DishFlavor.builder().id(i * 2 + 1).dishId(i).name("忌口").value("[\"不要葱\",\"不要蒜\",\"不要香菜\"]").build());
+			dishes.add(DishVO.builder()
+					.id(i)
+					.name("菜品" + i)
+					.categoryId(11L)
+					.price(new BigDecimal("38.00"))
+					.image("https://sky-take-out.oss-cn-beijing.aliyuncs.com/" + i + ".png")
+					.description("菜品描述" + i)
+					.status(1)
+					.updateTime(now)
+					.categoryName("热菜")
+					.flavors(flavors)
+					.build());
+		}
+		return dishes;
+	}
+}
@@ -0,0 +1,22 @@
+package com.sky.annotation;
+
+import com.sky.enumeration.CatalogType;
+import com.sky.enumeration.OperationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记新增或删除菜单数据的 mapper 方法，用于维护id布隆过滤器
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogIdChange {
+	// 数据类型: 分类、菜品、套餐
+	CatalogType type();
+
+	// 操作类型: INSERT-新增, DELETE-删除
+	OperationType value();
+}
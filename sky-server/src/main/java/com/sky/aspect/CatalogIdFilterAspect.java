@@ -0,0 +1,64 @@
+package com.sky.aspect;
+
+import com.sky.annotation.CatalogIdChange;
+import com.sky.cache.CatalogIdFilter;
+import com.sky.enumeration.OperationType;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 自定义切面，在新增、删除菜单数据后维护id布隆过滤器
+ */
+@Aspect
+@Component
+@Slf4j
+public class CatalogIdFilterAspect {
+
+	private static final String GET_ID = "getId";
+
+	private final CatalogIdFilter catalogIdFilter;
+
+	@Autowired
+	public CatalogIdFilterAspect(CatalogIdFilter catalogIdFilter) {
+		this.catalogIdFilter = catalogIdFilter;
+	}
+
+	/**
+	 * 切入点，匹配mapper包下且所有标记了@CatalogIdChange注解的方法
+	 */
+	@Pointcut("execution(* com.sky.mapper.*.*(..)) && @annotation(com.sky.annotation.CatalogIdChange)")
+	public void catalogIdChangePointCut() {}
+
+	/**
+	 * 后置通知，新增时将生成的id加入过滤器，删除时重建过滤器
+	 */
+	@AfterReturning("catalogIdChangePointCut()")
+	public void afterChange(JoinPoint joinPoint) {
+		MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+		CatalogIdChange change = signature.getMethod().getAnnotation(CatalogIdChange.class);
+		if (change.value() == OperationType.DELETE) {
+			catalogIdFilter.removed(change.type());
+			return;
+		}
+		Object[] args = joinPoint.getArgs();
+		if (change.value() != OperationType.INSERT || args == null || args.length == 0) {
+			return;
+		}
+		// 实体类对象中由数据库生成的主键
+		Object entity = args[0];
+		try {
+			Method getId = entity.getClass().getMethod(GET_ID);
+			catalogIdFilter.add(change.type(), (Long) getId.invoke(entity));
+		} catch (Exception e) {
+			throw new RuntimeException("获取新增数据的id失败", e);
+		}
+	}
+}
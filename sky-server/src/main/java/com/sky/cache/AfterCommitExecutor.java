@@ -0,0 +1,31 @@
+package com.sky.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 在当前事务提交后执行缓存失效等动作，没有事务时立即执行
+ */
+public class AfterCommitExecutor {
+
+	private AfterCommitExecutor() {
+		throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * 在事务提交后执行
+	 * @param action 待执行的动作
+	 */
+	public static void execute(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
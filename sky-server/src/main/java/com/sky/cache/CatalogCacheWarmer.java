@@ -0,0 +1,125 @@
+package com.sky.cache;
+
+import com.sky.constant.StatusConstant;
+import com.sky.entity.Category;
+import com.sky.entity.Dish;
+import com.sky.entity.Setmeal;
+import com.sky.mapper.CategoryMapper;
+import com.sky.mapper.DishMapper;
+import com.sky.mapper.SetmealMapper;
+import com.sky.properties.CatalogCacheProperties;
+import com.sky.vo.DishItemVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 菜单缓存预热
+ * 启动时在就绪状态对外可用之前执行（Spring Boot 在全部 ApplicationRunner 完成后才发布就绪事件），
+ * 也可以在后台批量修改、批量清理缓存后手动调用。
+ * 每个分类的查询在虚拟线程上并行执行，通过信号量限制同时访问数据库的并发数，
+ * 查询结果通过 Redis 管道批量写入，只写入不存在且加载期间没有被清理过的 key。
+ */
+@Component
+@Slf4j
+public class CatalogCacheWarmer implements ApplicationRunner {
+
+	private final CategoryMapper categoryMapper;
+	private final DishMapper dishMapper;
+	private final SetmealMapper setmealMapper;
+	private final TwoLevelCache<List<Dish>> dishCache;
+	private final TwoLevelCache<List<Setmeal>> setmealCache;
+	private final TwoLevelCache<List<DishItemVO>> setmealDishCache;
+	private final int concurrency;
+
+	@Autowired
+	public CatalogCacheWarmer(CategoryMapper categoryMapper, DishMapper dishMapper, SetmealMapper setmealMapper,
+	                          TwoLevelCache<List<Dish>> dishCache, TwoLevelCache<List<Setmeal>> setmealCache,
+	                          TwoLevelCache<List<DishItemVO>> setmealDishCache, CatalogCacheProperties properties) {
+		this.categoryMapper = categoryMapper;
+		this.dishMapper = dishMapper;
+		this.setmealMapper = setmealMapper;
+		this.dishCache = dishCache;
+		this.setmealCache = setmealCache;
+		this.setmealDishCache = setmealDishCache;
+		this.concurrency = Math.max(1, properties.getWarmUpConcurrency());
+	}
+
+	/**
+	 * 启动时预热，预热失败不影响启动，未命中的数据会在请求时回源
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		try {
+			warmUp();
+		} catch (Exception e) {
+			log.error("菜单缓存预热失败", e);
+		}
+	}
+
+	/**
+	 * 预热全部分类的菜品列表、套餐列表，以及启售套餐的菜品明细
+	 * @return 写入缓存的条目数
+	 */
+	public synchronized int warmUp() {
+		long start = System.currentTimeMillis();
+		// 记录加载前的失效版本，加载期间被修改清理的 key 不再写入旧数据
+		long dishVersion = dishCache.version();
+		long setmealVersion = setmealCache.version();
+		long setmealDishVersion = setmealDishCache.version();
+		List<Long> categoryIds = categoryMapper.list(null).stream().map(Category::getId).toList();
+		Map<Long, List<Dish>> dishes = new ConcurrentHashMap<>();
+		Map<Long, List<Setmeal>> setmeals = new ConcurrentHashMap<>();
+		Map<Long, List<DishItemVO>> dishItems = new ConcurrentHashMap<>();
+		Semaphore permits = new Semaphore(concurrency);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			submit(executor, permits, categoryIds, dishes, categoryId -> dishMapper.list(Dish.builder()
+					.categoryId(categoryId)
+					.status(StatusConstant.ENABLE)
+					.build()));
+			submit(executor, permits, categoryIds, setmeals, categoryId -> setmealMapper.list(Setmeal.builder()
+					.categoryId(categoryId)
+					.status(StatusConstant.ENABLE)
+					.build()));
+		}
+		// 套餐明细依赖上一步查询到的启售套餐
+		List<Long> setmealIds = setmeals.values().stream().flatMap(List::stream).map(Setmeal::getId).toList();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			submit(executor, permits, setmealIds, dishItems, setmealMapper::getDishItemBySetmealId);
+		}
+		int total = dishCache.putAll(dishes, dishVersion)
+				+ setmealCache.putAll(setmeals, setmealVersion)
+				+ setmealDishCache.putAll(dishItems, setmealDishVersion);
+		log.info("菜单缓存预热完成，分类：{}，套餐明细：{}，写入条目：{}，耗时：{} ms",
+				categoryIds.size(), dishItems.size(), total, System.currentTimeMillis() - start);
+		return total;
+	}
+
+	private <V> void submit(ExecutorService executor, Semaphore permits, Collection<Long> ids,
+	                        Map<Long, V> result, Function<Long, V> loader) {
+		ids.forEach(id -> executor.submit(() -> {
+			permits.acquireUninterruptibly();
+			try {
+				V value = loader.apply(id);
+				if (value != null) {
+					result.put(id, value);
+				}
+			} catch (Exception e) {
+				log.warn("预热缓存失败，跳过：{}", id, e);
+			} finally {
+				permits.release();
+			}
+		}));
+	}
+}
@@ -0,0 +1,233 @@
+package com.sky.cache;
+
+import com.sky.constant.CacheConstant;
+import com.sky.enumeration.CatalogType;
+import com.sky.mapper.CategoryMapper;
+import com.sky.mapper.DishMapper;
+import com.sky.mapper.SetmealMapper;
+import com.sky.properties.CatalogCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 分类、菜品、套餐的id布隆过滤器，防止不存在的id穿透到 Redis 和数据库
+ * 启动时根据数据库全量重建；新增时立即加入本节点过滤器，事务提交后再加入一次并广播给其他节点；
+ * 删除无法从布隆过滤器中移除，在事务提交后交给后台线程重建当前节点的过滤器，排队期间的多次删除只重建一次，不占用请求线程。
+ * 广播消息丢失时其他节点会把新增的id误判为不存在，定时全量重建兜底。
+ * 过滤器构建完成前所有id都视为可能存在。
+ */
+@Component
+@Slf4j
+public class CatalogIdFilter implements ApplicationRunner, MessageListener {
+
+	private static final int MIN_CAPACITY = 1024;
+	private static final String SEPARATOR = ":";
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final double fpp;
+	private final Map<CatalogType, Supplier<List<Long>>> idLoaders = new EnumMap<>(CatalogType.class);
+	private final Map<CatalogType, IdBloomFilter> filters = new ConcurrentHashMap<>();
+	private final Map<CatalogType, Set<Long>> pending = new ConcurrentHashMap<>();
+	private final Map<CatalogType, Counter> rejected = new EnumMap<>(CatalogType.class);
+	/**
+	 * 已提交给后台线程、尚未开始执行的重建，相同类型的重复请求合并为一次
+	 */
+	private final Set<CatalogType> rebuildRequested = ConcurrentHashMap.newKeySet();
+	private final ExecutorService rebuildExecutor =
+			Executors.newSingleThreadExecutor(Thread.ofVirtual().name("catalog-id-filter-rebuild").factory());
+
+	@Autowired
+	public CatalogIdFilter(CategoryMapper categoryMapper, DishMapper dishMapper, SetmealMapper setmealMapper,
+	                       RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties,
+	                       MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.fpp = properties.getBloomFpp();
+		idLoaders.put(CatalogType.CATEGORY, categoryMapper::listIds);
+		idLoaders.put(CatalogType.DISH, dishMapper::listIds);
+		idLoaders.put(CatalogType.SETMEAL, setmealMapper::listIds);
+		for (CatalogType type : CatalogType.values()) {
+			String tag = type.name().toLowerCase();
+			rejected.put(type, meterRegistry.counter("sky.catalog.bloom.rejected", "type", tag));
+			Gauge.builder("sky.catalog.bloom.fpp", filters, map -> map.containsKey(type) ? map.get(type).expectedFpp() : 0)
+					.tag("type", tag)
+					.register(meterRegistry);
+			Gauge.builder("sky.catalog.bloom.bytes", filters, map -> map.containsKey(type) ? map.get(type).byteSize() : 0)
+					.tag("type", tag)
+					.baseUnit("bytes")
+					.register(meterRegistry);
+			Gauge.builder("sky.catalog.bloom.insertions", filters, map -> map.containsKey(type) ? map.get(type).insertions() : 0)
+					.tag("type", tag)
+					.register(meterRegistry);
+		}
+	}
+
+	/**
+	 * 启动完成后全量构建过滤器
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		for (CatalogType type : CatalogType.values()) {
+			rebuild(type);
+		}
+	}
+
+	/**
+	 * 判断id是否可能存在，返回 false 时调用方应直接拒绝，不再查询缓存和数据库
+	 * @param type 数据类型
+	 * @param id 数据id
+	 * @return 是否可能存在
+	 */
+	public boolean mightContain(CatalogType type, Long id) {
+		if (id == null) {
+			return true;
+		}
+		IdBloomFilter filter = filters.get(type);
+		if (filter == null || filter.mightContain(id)) {
+			return true;
+		}
+		rejected.get(type).increment();
+		return false;
+	}
+
+	/**
+	 * 新增数据后加入过滤器，存在事务时在提交后再加入一次并通知其他节点：
+	 * 提交前开始的重建读不到新数据，提交后再通知，保证其他节点重建时从数据库读到的id不会遗漏
+	 * @param type 数据类型
+	 * @param id 数据id
+	 */
+	public void add(CatalogType type, Long id) {
+		if (id == null) {
+			return;
+		}
+		put(type, id);
+		AfterCommitExecutor.execute(() -> {
+			put(type, id);
+			try {
+				redisTemplate.convertAndSend(CacheConstant.BLOOM_CHANNEL, type.name() + SEPARATOR + id);
+			} catch (Exception e) {
+				log.error("发送布隆过滤器新增通知失败：{}:{}", type, id, e);
+			}
+		});
+	}
+
+	/**
+	 * 删除数据后在事务提交时请求后台重建过滤器，尚未开始的重建请求会被合并
+	 * @param type 数据类型
+	 */
+	public void removed(CatalogType type) {
+		AfterCommitExecutor.execute(() -> requestRebuild(type));
+	}
+
+	/**
+	 * 接收其他节点新增的id
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String value)) {
+			return;
+		}
+		String[] parts = value.split(SEPARATOR);
+		put(CatalogType.valueOf(parts[0]), Long.valueOf(parts[1]));
+	}
+
+	/**
+	 * 定期全量重建，兜底丢失的新增通知
+	 */
+	@Scheduled(initialDelayString = "${sky.cache.bloom-rebuild:30m}", fixedDelayString = "${sky.cache.bloom-rebuild:30m}")
+	public void scheduledRebuild() {
+		for (CatalogType type : CatalogType.values()) {
+			try {
+				rebuild(type);
+			} catch (Exception e) {
+				log.error("{} id布隆过滤器重建失败", type, e);
+			}
+		}
+	}
+
+	/**
+	 * 停止后台重建线程
+	 */
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdownNow();
+	}
+
+	private void put(CatalogType type, long id) {
+		IdBloomFilter filter = filters.get(type);
+		if (filter != null) {
+			filter.put(id);
+			if (filter.isSaturated()) {
+				AfterCommitExecutor.execute(() -> requestRebuild(type));
+			}
+		}
+		// 重建期间新增的id先记录下来，替换后补入新过滤器，避免丢失
+		Set<Long> added = pending.get(type);
+		if (added != null) {
+			added.add(id);
+		}
+	}
+
+	/**
+	 * 开始执行前移除请求标记，重建期间发生的删除会再排队一次，不会遗漏
+	 */
+	private void requestRebuild(CatalogType type) {
+		if (!rebuildRequested.add(type)) {
+			return;
+		}
+		try {
+			rebuildExecutor.execute(() -> {
+				rebuildRequested.remove(type);
+				try {
+					rebuild(type);
+				} catch (Exception e) {
+					log.error("{} id布隆过滤器重建失败", type, e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rebuildRequested.remove(type);
+			log.warn("{} id布隆过滤器重建请求被拒绝，等待定时重建", type);
+		}
+	}
+
+	private synchronized void rebuild(CatalogType type) {
+		Set<Long> added = ConcurrentHashMap.newKeySet();
+		pending.put(type, added);
+		IdBloomFilter filter;
+		int size;
+		try {
+			List<Long> ids = idLoaders.get(type).get();
+			size = ids.size();
+			filter = IdBloomFilter.create(Math.max(MIN_CAPACITY, size * 2L), fpp);
+			ids.forEach(filter::put);
+			filters.put(type, filter);
+			added.forEach(filter::put);
+		} finally {
+			pending.remove(type);
+		}
+		log.info("{} id布隆过滤器已重建，元素数量：{}，占用：{} 字节，预估误判率：{}",
+				type, size, filter.byteSize(), filter.expectedFpp());
+	}
+}
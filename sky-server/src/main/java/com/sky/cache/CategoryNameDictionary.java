@@ -0,0 +1,96 @@
+package com.sky.cache;
+
+import com.sky.constant.CacheConstant;
+import com.sky.entity.Category;
+import com.sky.mapper.CategoryMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 常驻内存的分类id到分类名称字典
+ * 菜品、套餐分页查询只查单表，分类名称在内存中填充，分页统计语句也不再联表。
+ * 分类新增、修改、删除后在事务提交后标记过期并通知其他节点，下一次读取时全量重新加载。
+ */
+@Component
+@Slf4j
+public class CategoryNameDictionary implements MessageListener {
+
+	private final CategoryMapper categoryMapper;
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private volatile Map<Long, String> names;
+	private volatile boolean stale = true;
+
+	@Autowired
+	public CategoryNameDictionary(CategoryMapper categoryMapper, RedisTemplate<String, Object> redisTemplate) {
+		this.categoryMapper = categoryMapper;
+		this.redisTemplate = redisTemplate;
+	}
+
+	/**
+	 * 查询分类名称
+	 * @param categoryId 分类id
+	 * @return 分类名称，分类不存在时返回 null
+	 */
+	public String getName(Long categoryId) {
+		return categoryId == null ? null : names().get(categoryId);
+	}
+
+	/**
+	 * 标记字典过期，并通知其他节点，存在事务时在提交后执行
+	 */
+	public void invalidate() {
+		AfterCommitExecutor.execute(() -> {
+			stale = true;
+			try {
+				redisTemplate.convertAndSend(CacheConstant.EVICT_CHANNEL, CacheConstant.CATEGORY_NAME);
+			} catch (Exception e) {
+				log.error("发送分类名称失效通知失败", e);
+			}
+		});
+	}
+
+	/**
+	 * 只处理分类名称的失效消息
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (CacheConstant.CATEGORY_NAME.equals(body)) {
+			stale = true;
+		}
+	}
+
+	private Map<Long, String> names() {
+		Map<Long, String> current = names;
+		if (!stale && current != null) {
+			return current;
+		}
+		synchronized (this) {
+			if (stale || names == null) {
+				// 先清除标记，加载期间发生的修改会再次将其置为过期
+				stale = false;
+				Map<Long, String> loaded = new HashMap<>();
+				try {
+					for (Category category : categoryMapper.listIdAndName()) {
+						loaded.put(category.getId(), category.getName());
+					}
+				} catch (RuntimeException e) {
+					stale = true;
+					throw e;
+				}
+				names = Map.copyOf(loaded);
+				log.info("分类名称字典已加载，分类数量：{}", loaded.size());
+			}
+			return names;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.sky.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.entity.Category;
+import com.sky.entity.Dish;
+import com.sky.entity.Setmeal;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.vo.DishItemVO;
+import com.sky.vo.DishVO;
+import com.sky.vo.SetmealVO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 菜单缓存值的紧凑序列化器
+ * 对已登记元素类型的列表写入 [魔数][标志位][类型编号][可选原始长度][不含类型信息的JSON]，
+ * JSON 超过阈值时使用 LZ4 压缩；其他值以及未开启紧凑格式时交给原有的序列化器处理。
+ * 读取时根据首字节的魔数区分两种格式，迁移期间两种格式可以同时存在于 Redis 中。
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+	private static final byte MAGIC = (byte) 0xC5;
+	private static final byte FLAG_LZ4 = 1;
+	private static final int HEADER_LENGTH = 3;
+
+	/**
+	 * 可使用紧凑格式的元素类型，下标即类型编号，只能在末尾追加
+	 */
+	private static final List<Class<?>> TYPES = List.of(
+			Dish.class, DishVO.class, SetmealVO.class, Category.class, Setmeal.class, DishItemVO.class);
+
+	private final RedisSerializer<Object> legacySerializer;
+	private final boolean compactEnabled;
+	private final int compressThreshold;
+	private final ObjectMapper objectMapper;
+	private final List<JavaType> listTypes;
+	private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+	private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+	private final DistributionSummary compactBytes;
+	private final DistributionSummary legacyBytes;
+
+	/**
+	 * @param legacySerializer 原有序列化器，用于非列表值和旧格式数据
+	 * @param compactEnabled 是否写入紧凑格式，关闭时只读取紧凑格式，便于分批发布
+	 * @param compressThreshold JSON 字节数超过该值时压缩
+	 * @param meterRegistry 指标注册器
+	 */
+	public CompactRedisSerializer(RedisSerializer<Object> legacySerializer, boolean compactEnabled,
+	                              int compressThreshold, MeterRegistry meterRegistry) {
+		this.legacySerializer = legacySerializer;
+		this.compactEnabled = compactEnabled;
+		this.compressThreshold = compressThreshold;
+		this.objectMapper = new JacksonObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		this.listTypes = TYPES.stream()
+				.map(type -> (JavaType) objectMapper.getTypeFactory().constructCollectionType(ArrayList.class, type))
+				.toList();
+		this.compactBytes = DistributionSummary.builder("sky.cache.redis.value.bytes")
+				.tag("format", "compact")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		this.legacyBytes = DistributionSummary.builder("sky.cache.redis.value.bytes")
+				.tag("format", "legacy")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public byte[] serialize(Object value) throws SerializationException {
+		int type = compactEnabled ? typeOf(value) : -1;
+		if (type < 0) {
+			byte[] bytes = legacySerializer.serialize(value);
+			if (bytes != null) {
+				legacyBytes.record(bytes.length);
+			}
+			return bytes;
+		}
+		byte[] json;
+		try {
+			json = objectMapper.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new SerializationException("缓存值序列化失败", e);
+		}
+		byte[] bytes;
+		if (json.length > compressThreshold) {
+			byte[] compressed = compressor.compress(json);
+			bytes = ByteBuffer.allocate(HEADER_LENGTH + Integer.BYTES + compressed.length)
+					.put(MAGIC).put(FLAG_LZ4).put((byte) type)
+					.putInt(json.length)
+					.put(compressed)
+					.array();
+		} else {
+			bytes = ByteBuffer.allocate(HEADER_LENGTH + json.length)
+					.put(MAGIC).put((byte) 0).put((byte) type)
+					.put(json)
+					.array();
+		}
+		compactBytes.record(bytes.length);
+		return bytes;
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != MAGIC) {
+			return legacySerializer.deserialize(bytes);
+		}
+		int type = bytes[2];
+		if (type < 0 || type >= listTypes.size()) {
+			throw new SerializationException("未知的缓存值类型：" + type);
+		}
+		try {
+			if ((bytes[1] & FLAG_LZ4) == 0) {
+				return objectMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, listTypes.get(type));
+			}
+			int length = ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt();
+			byte[] json = new byte[length];
+			decompressor.decompress(bytes, HEADER_LENGTH + Integer.BYTES, json, 0, length);
+			return objectMapper.readValue(json, listTypes.get(type));
+		} catch (IOException | RuntimeException e) {
+			throw new SerializationException("缓存值反序列化失败", e);
+		}
+	}
+
+	/**
+	 * 非空且元素类型一致的已登记类型列表返回类型编号，否则返回 -1
+	 */
+	private static int typeOf(Object value) {
+		if (!(value instanceof List<?> list) || list.isEmpty() || list.get(0) == null) {
+			return -1;
+		}
+		Class<?> elementType = list.get(0).getClass();
+		int type = TYPES.indexOf(elementType);
+		if (type < 0) {
+			return -1;
+		}
+		for (Object element : list) {
+			if (element == null || element.getClass() != elementType) {
+				return -1;
+			}
+		}
+		return type;
+	}
+}
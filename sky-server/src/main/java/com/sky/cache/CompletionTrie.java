@@ -0,0 +1,209 @@
+package com.sky.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 前缀检索用的压缩字典树（基数树），非线程安全，由调用方加锁
+ * 只有一个子节点且不挂值的节点与子节点合并，边上保存多个字符，节点数与 key 的数量同阶。
+ * 同一个值可以挂在多个 key 上，例如名称、全拼和拼音首字母。
+ * 每个节点保存子树中排序最靠前的 topK 个不重复的值，查询只定位前缀所在的节点，不遍历子树；
+ * 新增和移除时只重新计算路径上的节点，排序规则变化时通过 rank 全量重新计算。
+ * @param <V> 值类型
+ */
+public class CompletionTrie<V> {
+
+	private final Node<V> root = new Node<>("");
+	private final int topK;
+	private Comparator<V> order;
+	private int keyCount;
+
+	/**
+	 * @param topK 每个节点保存的值数量，即查询能返回的最大数量
+	 */
+	public CompletionTrie(int topK) {
+		this.topK = topK;
+	}
+
+	/**
+	 * 在 key 上挂一个值
+	 * @param key 检索key
+	 * @param value 值
+	 */
+	public void put(String key, V value) {
+		if (key == null || key.isEmpty()) {
+			return;
+		}
+		Node<V> node = root;
+		List<Node<V>> path = new ArrayList<>();
+		path.add(node);
+		String rest = key;
+		while (!rest.isEmpty()) {
+			Node<V> child = node.children.get(rest.charAt(0));
+			if (child == null) {
+				child = new Node<>(rest);
+				node.children.put(rest.charAt(0), child);
+				node = child;
+				path.add(node);
+				break;
+			}
+			int common = commonPrefix(child.label, rest);
+			if (common < child.label.length()) {
+				// 拆分边：新建中间节点承接公共前缀
+				Node<V> middle = new Node<>(child.label.substring(0, common));
+				child.label = child.label.substring(common);
+				middle.children.put(child.label.charAt(0), child);
+				node.children.put(middle.label.charAt(0), middle);
+				child = middle;
+			}
+			node = child;
+			path.add(node);
+			rest = rest.substring(common);
+		}
+		if (node.values.isEmpty()) {
+			keyCount++;
+		}
+		node.values.add(value);
+		for (int i = path.size() - 1; i >= 0; i--) {
+			rankNode(path.get(i));
+		}
+	}
+
+	/**
+	 * 从 key 上移除一个值，没有值的节点随之删除或合并
+	 * @param key 检索key
+	 * @param value 值
+	 */
+	public void remove(String key, V value) {
+		if (key != null && !key.isEmpty()) {
+			remove(root, key, value);
+		}
+	}
+
+	/**
+	 * 查询 key 以 prefix 开头的值中排序最靠前的若干个，同一个值挂在多个 key 上时只返回一次
+	 * @param prefix 前缀
+	 * @param limit 返回数量，超过 topK 时按 topK 返回
+	 * @return 按排序规则排列的值，尚未调用 rank 时为空
+	 */
+	public List<V> topWithPrefix(String prefix, int limit) {
+		Node<V> node = root;
+		String rest = prefix;
+		while (!rest.isEmpty()) {
+			Node<V> child = node.children.get(rest.charAt(0));
+			if (child == null) {
+				return List.of();
+			}
+			int common = commonPrefix(child.label, rest);
+			if (common == rest.length()) {
+				// 前缀在这条边上结束，整棵子树都匹配
+				node = child;
+				break;
+			}
+			if (common < child.label.length()) {
+				return List.of();
+			}
+			node = child;
+			rest = rest.substring(common);
+		}
+		return node.top.size() <= limit ? node.top : node.top.subList(0, limit);
+	}
+
+	/**
+	 * 设置排序规则并重新计算全部节点，之后的新增和移除按该规则维护
+	 * @param order 排序规则，靠前的值优先返回
+	 */
+	public void rank(Comparator<V> order) {
+		this.order = order;
+		rankTree(root);
+	}
+
+	/**
+	 * @return 挂有值的 key 数量
+	 */
+	public int keyCount() {
+		return keyCount;
+	}
+
+	private boolean remove(Node<V> node, String rest, V value) {
+		Node<V> child = node.children.get(rest.charAt(0));
+		if (child == null || !rest.startsWith(child.label)) {
+			return false;
+		}
+		String remaining = rest.substring(child.label.length());
+		boolean removed;
+		if (remaining.isEmpty()) {
+			removed = child.values.remove(value);
+			if (removed && child.values.isEmpty()) {
+				keyCount--;
+			}
+		} else {
+			removed = remove(child, remaining, value);
+		}
+		if (removed) {
+			rankNode(child);
+			compact(node, child);
+			rankNode(node);
+		}
+		return removed;
+	}
+
+	private void rankTree(Node<V> node) {
+		node.children.values().forEach(this::rankTree);
+		rankNode(node);
+	}
+
+	/**
+	 * 子节点的 topK 合并本节点的值即为本节点的 topK，只需在子节点计算完成后调用
+	 */
+	private void rankNode(Node<V> node) {
+		if (order == null) {
+			return;
+		}
+		Set<V> candidates = new HashSet<>(node.values);
+		node.children.values().forEach(child -> candidates.addAll(child.top));
+		node.top = candidates.stream().sorted(order).limit(topK).toList();
+	}
+
+	/**
+	 * 删除空节点，合并只剩一个子节点的节点
+	 */
+	private static <V> void compact(Node<V> parent, Node<V> child) {
+		if (!child.values.isEmpty()) {
+			return;
+		}
+		if (child.children.isEmpty()) {
+			parent.children.remove(child.label.charAt(0));
+		} else if (child.children.size() == 1) {
+			Node<V> grandchild = child.children.values().iterator().next();
+			grandchild.label = child.label + grandchild.label;
+			parent.children.put(grandchild.label.charAt(0), grandchild);
+		}
+	}
+
+	private static int commonPrefix(String a, String b) {
+		int length = Math.min(a.length(), b.length());
+		int i = 0;
+		while (i < length && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		return i;
+	}
+
+	private static final class Node<V> {
+
+		private String label;
+		private final Map<Character, Node<V>> children = new HashMap<>(4);
+		private final Set<V> values = new HashSet<>(2);
+		private List<V> top = List.of();
+
+		private Node(String label) {
+			this.label = label;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.sky.cache;
+
+import com.sky.properties.CatalogCacheProperties;
+import com.sky.vo.HotKeyVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 热点key探测器
+ * 按采样率对 Redis 读请求计数，使用分桶滑动窗口估算每个 key 的读频率，
+ * 超过阈值的 key 被提升为热点，降到阈值一半以下时撤销，避免在阈值附近反复切换。
+ */
+@Component
+@Slf4j
+public class HotKeyDetector {
+
+	private static final int BUCKETS = 10;
+
+	private final double sampleRate;
+	private final long bucketMillis;
+	private final long threshold;
+	private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+	private final Map<String, LocalDateTime> promoted = new ConcurrentHashMap<>();
+	private final Counter promotions;
+	private final Counter demotions;
+
+	@Autowired
+	public HotKeyDetector(CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+		this.sampleRate = properties.getHotKeySampleRate();
+		this.bucketMillis = Math.max(1, properties.getHotKeyWindow().toMillis() / BUCKETS);
+		this.threshold = properties.getHotKeyThreshold();
+		this.promotions = meterRegistry.counter("sky.cache.hot.key.promotions");
+		this.demotions = meterRegistry.counter("sky.cache.hot.key.demotions");
+		meterRegistry.gauge("sky.cache.hot.key.promoted", promoted, Map::size);
+	}
+
+	/**
+	 * 记录一次读请求，按采样率计数，达到阈值时提升为热点
+	 * @param key Redis key
+	 */
+	public void record(String key) {
+		if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+		long slot = currentSlot();
+		SlidingWindow window = windows.computeIfAbsent(key, k -> new SlidingWindow());
+		long estimate = (long) (window.add(slot) / sampleRate);
+		if (estimate >= threshold && promoted.putIfAbsent(key, LocalDateTime.now()) == null) {
+			promotions.increment();
+			log.info("热点key已提升为本地副本：{}，估算读次数：{}", key, estimate);
+		}
+	}
+
+	/**
+	 * 判断是否为热点key
+	 * @param key Redis key
+	 * @return 是否热点
+	 */
+	public boolean isHot(String key) {
+		return promoted.containsKey(key);
+	}
+
+	/**
+	 * 当前所有热点key，按估算读次数降序
+	 * @return 热点key列表
+	 */
+	public List<HotKeyVO> list() {
+		long slot = currentSlot();
+		return promoted.entrySet().stream()
+				.map(entry -> HotKeyVO.builder()
+						.key(entry.getKey())
+						.estimatedReads(estimate(entry.getKey(), slot))
+						.promotedTime(entry.getValue())
+						.build())
+				.sorted(Comparator.comparing(HotKeyVO::getEstimatedReads).reversed())
+				.toList();
+	}
+
+	/**
+	 * 定期撤销已经冷却的热点key，并清理没有读请求的统计窗口
+	 */
+	@Scheduled(fixedDelayString = "${sky.cache.hot-key-window:10s}")
+	public void demote() {
+		long slot = currentSlot();
+		List<String> cooled = promoted.keySet().stream()
+				.filter(key -> estimate(key, slot) < threshold / 2)
+				.toList();
+		cooled.forEach(key -> {
+			promoted.remove(key);
+			demotions.increment();
+			log.info("热点key已冷却，撤销本地副本：{}", key);
+		});
+		windows.entrySet().removeIf(entry -> entry.getValue().sum(slot) == 0 && !promoted.containsKey(entry.getKey()));
+	}
+
+	private long estimate(String key, long slot) {
+		SlidingWindow window = windows.get(key);
+		return window == null ? 0 : (long) (window.sum(slot) / sampleRate);
+	}
+
+	private long currentSlot() {
+		return System.currentTimeMillis() / bucketMillis;
+	}
+
+	/**
+	 * 分桶滑动窗口，每个桶记录所属时间片，过期的桶在复用时清零
+	 */
+	private static final class SlidingWindow {
+
+		private final long[] counts = new long[BUCKETS];
+		private final long[] slots = new long[BUCKETS];
+
+		synchronized long add(long slot) {
+			int index = (int) (slot % BUCKETS);
+			if (slots[index] != slot) {
+				slots[index] = slot;
+				counts[index] = 0;
+			}
+			counts[index]++;
+			return sum(slot);
+		}
+
+		synchronized long sum(long slot) {
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				if (slot - slots[i] < BUCKETS) {
+					total += counts[i];
+				}
+			}
+			return total;
+		}
+	}
+}
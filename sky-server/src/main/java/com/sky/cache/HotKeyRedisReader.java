@@ -0,0 +1,101 @@
+package com.sky.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sky.constant.CacheConstant;
+import com.sky.properties.CatalogCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * 带热点key本地副本的 Redis 读取入口
+ * 每次读取都交给 HotKeyDetector 采样计数，被提升为热点的 key 在本地保留一个短 TTL 副本，
+ * 副本有效期内不再访问 Redis；收到缓存失效广播时立即清理对应副本。
+ */
+@Component
+@Slf4j
+public class HotKeyRedisReader implements MessageListener {
+
+	private static final String SEPARATOR = ",";
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final HotKeyDetector hotKeyDetector;
+	private final Cache<String, Object> replicas;
+	private final Counter replicaHits;
+
+	@Autowired
+	public HotKeyRedisReader(RedisTemplate<String, Object> redisTemplate, HotKeyDetector hotKeyDetector,
+	                         CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.hotKeyDetector = hotKeyDetector;
+		this.replicas = Caffeine.newBuilder()
+				.expireAfterWrite(properties.getHotKeyReplicaTtl())
+				.build();
+		this.replicaHits = meterRegistry.counter("sky.cache.hot.key.replica.hits");
+	}
+
+	/**
+	 * 读取 Redis 中的值，热点key优先读取本地副本
+	 * @param key Redis key
+	 * @return 缓存值
+	 */
+	public Object get(String key) {
+		hotKeyDetector.record(key);
+		boolean hot = hotKeyDetector.isHot(key);
+		if (hot) {
+			Object replica = replicas.getIfPresent(key);
+			if (replica != null) {
+				replicaHits.increment();
+				return replica;
+			}
+		}
+		Object value = redisTemplate.opsForValue().get(key);
+		if (hot && value != null) {
+			replicas.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * 写入 Redis 后清理所有节点上该 key 的本地副本
+	 * @param key Redis key
+	 */
+	public void invalidate(String key) {
+		evictReplica(key);
+		redisTemplate.convertAndSend(CacheConstant.EVICT_CHANNEL, key);
+	}
+
+	/**
+	 * 只清理当前节点的本地副本，以 * 结尾时按前缀清理
+	 * @param key Redis key
+	 */
+	public void evictReplica(String key) {
+		if (key.endsWith("*")) {
+			String prefix = key.substring(0, key.length() - 1);
+			replicas.asMap().keySet().removeIf(replicaKey -> replicaKey.startsWith(prefix));
+		} else {
+			replicas.invalidate(key);
+		}
+	}
+
+	/**
+	 * 接收缓存失效广播，清理对应的本地副本
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String keys)) {
+			return;
+		}
+		for (String key : keys.split(SEPARATOR)) {
+			evictReplica(key);
+		}
+	}
+}
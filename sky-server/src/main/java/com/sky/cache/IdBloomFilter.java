@@ -0,0 +1,116 @@
+package com.sky.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 long 位数组的布隆过滤器，只存放数值id，线程安全
+ * 判断为不存在时一定不存在，判断为存在时有一定概率误判
+ */
+public class IdBloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitSize;
+	private final int hashCount;
+	private final long capacity;
+	private final LongAdder insertions = new LongAdder();
+
+	private IdBloomFilter(long capacity, double fpp) {
+		this.capacity = capacity;
+		// m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+		long m = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.max(1, (m + 63) / 64);
+		this.bits = new AtomicLongArray(words);
+		this.bitSize = (long) words * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+	}
+
+	/**
+	 * 创建布隆过滤器
+	 * @param capacity 预期元素数量
+	 * @param fpp 目标误判率
+	 * @return 布隆过滤器
+	 */
+	public static IdBloomFilter create(long capacity, double fpp) {
+		return new IdBloomFilter(Math.max(1, capacity), fpp);
+	}
+
+	/**
+	 * 加入id
+	 * @param id 数据id
+	 */
+	public void put(long id) {
+		long hash = mix(id);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			long current = bits.get(word);
+			while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+				current = bits.get(word);
+			}
+		}
+		insertions.increment();
+	}
+
+	/**
+	 * 判断id是否可能存在
+	 * @param id 数据id
+	 * @return false 表示一定不存在
+	 */
+	public boolean mightContain(long id) {
+		long hash = mix(id);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			long index = Math.floorMod(h1 + (long) i * h2, bitSize);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 按当前元素数量估算的误判率
+	 */
+	public double expectedFpp() {
+		return Math.pow(1 - Math.exp(-(double) hashCount * insertions.sum() / bitSize), hashCount);
+	}
+
+	/**
+	 * 位数组占用的字节数
+	 */
+	public long byteSize() {
+		return bitSize / 8;
+	}
+
+	/**
+	 * 已加入的元素数量（含重复加入）
+	 */
+	public long insertions() {
+		return insertions.sum();
+	}
+
+	/**
+	 * 是否已超过预期容量，超过后误判率会快速上升
+	 */
+	public boolean isSaturated() {
+		return insertions.sum() > capacity;
+	}
+
+	/**
+	 * murmur3 的 64 位混淆函数，使连续id均匀分布
+	 */
+	private static long mix(long id) {
+		long h = id;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb3fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
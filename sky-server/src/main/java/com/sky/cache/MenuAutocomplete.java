@@ -0,0 +1,357 @@
+package com.sky.cache;
+
+import com.sky.constant.CacheConstant;
+import com.sky.constant.StatusConstant;
+import com.sky.entity.Dish;
+import com.sky.entity.OrderDetail;
+import com.sky.entity.Setmeal;
+import com.sky.enumeration.CatalogType;
+import com.sky.mapper.DishMapper;
+import com.sky.mapper.OrderDetailMapper;
+import com.sky.mapper.SetmealMapper;
+import com.sky.vo.SearchSuggestionVO;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 用户端搜索联想
+ * 启售菜品和套餐的名称、全拼、拼音首字母都挂在同一棵压缩字典树上，字典树的每个节点保存按销量排序的前 k 个条目，
+ * 查询只定位前缀所在的节点，耗时与匹配的条目数量无关，只读内存，不访问数据库和 Redis。
+ * 菜品、套餐修改后在事务提交后只重新加载受影响的条目，并广播给其他节点；销量定时重新统计。
+ */
+@Component
+@Slf4j
+public class MenuAutocomplete implements ApplicationRunner, MessageListener {
+
+	private static final int DISH_TYPE = 1;
+	private static final int SETMEAL_TYPE = 2;
+	/**
+	 * 多音字组合出的拼音数量上限，避免长名称的组合数膨胀
+	 */
+	private static final int MAX_READINGS = 8;
+	/**
+	 * 字典树每个节点保存的条目数量，与联想接口的返回数量上限一致
+	 */
+	private static final int TOP_K = 20;
+	private static final String ALL = "*";
+	private static final String SEPARATOR = ":";
+	private static final String ID_SEPARATOR = ",";
+	private static final HanyuPinyinOutputFormat PINYIN_FORMAT = new HanyuPinyinOutputFormat();
+
+	static {
+		PINYIN_FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+		PINYIN_FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+		PINYIN_FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+	}
+
+	private final DishMapper dishMapper;
+	private final SetmealMapper setmealMapper;
+	private final OrderDetailMapper orderDetailMapper;
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private CompletionTrie<ItemKey> trie = new CompletionTrie<>(TOP_K);
+	private Map<ItemKey, Item> items = new HashMap<>();
+	private volatile Map<ItemKey, Long> scores = Map.of();
+
+	@Autowired
+	public MenuAutocomplete(DishMapper dishMapper, SetmealMapper setmealMapper, OrderDetailMapper orderDetailMapper,
+	                        RedisTemplate<String, Object> redisTemplate) {
+		this.dishMapper = dishMapper;
+		this.setmealMapper = setmealMapper;
+		this.orderDetailMapper = orderDetailMapper;
+		this.redisTemplate = redisTemplate;
+	}
+
+	/**
+	 * 启动完成后全量构建
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		try {
+			refreshScores();
+			rebuild();
+		} catch (Exception e) {
+			log.error("搜索联想构建失败", e);
+		}
+	}
+
+	/**
+	 * 按前缀查询联想结果
+	 * @param keyword 用户输入，可以是名称、全拼或拼音首字母的前缀
+	 * @param limit 返回数量，最多 20 个
+	 * @return 按销量从高到低排列的启售菜品和套餐
+	 */
+	public List<SearchSuggestionVO> suggest(String keyword, int limit) {
+		String prefix = keyword == null ? "" : normalize(keyword);
+		if (prefix.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			return trie.topWithPrefix(prefix, limit).stream()
+					.map(key -> items.get(key).suggestion())
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 菜品或套餐修改后重新加载，并通知其他节点，存在事务时在提交后执行
+	 * @param type 数据类型，只处理菜品和套餐
+	 * @param ids 数据id集合
+	 */
+	public void refresh(CatalogType type, Collection<Long> ids) {
+		List<Long> changed = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (changed.isEmpty()) {
+			return;
+		}
+		AfterCommitExecutor.execute(() -> {
+			reload(type, changed);
+			publish(type.name() + SEPARATOR + changed.stream().map(String::valueOf).collect(Collectors.joining(ID_SEPARATOR)));
+		});
+	}
+
+	/**
+	 * 无法确定受影响的条目时全量重建，并通知其他节点，存在事务时在提交后执行
+	 */
+	public void refreshAll() {
+		AfterCommitExecutor.execute(() -> {
+			rebuild();
+			publish(ALL);
+		});
+	}
+
+	/**
+	 * 接收其他节点的变更，本节点发出的消息重复执行一次，结果不变
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String value)) {
+			return;
+		}
+		try {
+			if (ALL.equals(value)) {
+				rebuild();
+				return;
+			}
+			String[] parts = value.split(SEPARATOR);
+			reload(CatalogType.valueOf(parts[0]), Arrays.stream(parts[1].split(ID_SEPARATOR)).map(Long::valueOf).toList());
+		} catch (Exception e) {
+			log.error("处理搜索联想变更失败：{}", value, e);
+		}
+	}
+
+	/**
+	 * 定期重新统计菜品和套餐的销量，并按新销量重新计算字典树各节点的前 k 个条目
+	 */
+	@Scheduled(fixedDelayString = "${sky.cache.autocomplete-score-refresh:10m}")
+	public synchronized void refreshScores() {
+		Map<ItemKey, Long> loaded = new HashMap<>();
+		for (OrderDetail detail : orderDetailMapper.sumNumberByDish()) {
+			loaded.put(new ItemKey(CatalogType.DISH, detail.getDishId()), detail.getNumber().longValue());
+		}
+		for (OrderDetail detail : orderDetailMapper.sumNumberBySetmeal()) {
+			loaded.put(new ItemKey(CatalogType.SETMEAL, detail.getSetmealId()), detail.getNumber().longValue());
+		}
+		scores = loaded;
+		lock.writeLock().lock();
+		try {
+			trie.rank(order(items, loaded));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 修改操作互斥执行，读操作只在替换和修改字典树时短暂等待
+	 */
+	private synchronized void rebuild() {
+		long start = System.currentTimeMillis();
+		List<Item> loaded = new ArrayList<>();
+		dishMapper.list(Dish.builder().status(StatusConstant.ENABLE).build()).forEach(dish -> loaded.add(item(dish)));
+		setmealMapper.list(Setmeal.builder().status(StatusConstant.ENABLE).build()).forEach(setmeal -> loaded.add(item(setmeal)));
+		CompletionTrie<ItemKey> newTrie = new CompletionTrie<>(TOP_K);
+		Map<ItemKey, Item> newItems = new HashMap<>();
+		loaded.forEach(item -> add(newTrie, newItems, item));
+		// 全部条目加入后一次性排序，之后的增量修改只重新计算路径上的节点
+		newTrie.rank(order(newItems, scores));
+		lock.writeLock().lock();
+		try {
+			trie = newTrie;
+			items = newItems;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("搜索联想已构建，条目数量：{}，检索key数量：{}，耗时：{} ms",
+				newItems.size(), newTrie.keyCount(), System.currentTimeMillis() - start);
+	}
+
+	private synchronized void reload(CatalogType type, List<Long> ids) {
+		List<Item> loaded = new ArrayList<>();
+		if (type == CatalogType.DISH) {
+			dishMapper.getByIds(ids).stream()
+					.filter(dish -> StatusConstant.ENABLE.equals(dish.getStatus()))
+					.forEach(dish -> loaded.add(item(dish)));
+		} else if (type == CatalogType.SETMEAL) {
+			setmealMapper.getByIds(ids).stream()
+					.filter(setmeal -> StatusConstant.ENABLE.equals(setmeal.getStatus()))
+					.forEach(setmeal -> loaded.add(item(setmeal)));
+		} else {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			// 先移除旧条目，已删除或已停售的不再加回；重新排序时需要读取名称，从字典树移除后再移除条目
+			for (Long id : ids) {
+				Item previous = items.get(new ItemKey(type, id));
+				if (previous != null) {
+					previous.keys().forEach(key -> trie.remove(key, previous.key()));
+					items.remove(previous.key());
+				}
+			}
+			loaded.forEach(item -> add(trie, items, item));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 销量从高到低，销量相同时按名称排序
+	 */
+	private static Comparator<ItemKey> order(Map<ItemKey, Item> items, Map<ItemKey, Long> scores) {
+		return Comparator.<ItemKey>comparingLong(key -> scores.getOrDefault(key, 0L)).reversed()
+				.thenComparing(key -> items.get(key).suggestion().getName())
+				.thenComparing(ItemKey::type)
+				.thenComparingLong(ItemKey::id);
+	}
+
+	private static void add(CompletionTrie<ItemKey> trie, Map<ItemKey, Item> items, Item item) {
+		items.put(item.key(), item);
+		item.keys().forEach(key -> trie.put(key, item.key()));
+	}
+
+	private static Item item(Dish dish) {
+		return new Item(new ItemKey(CatalogType.DISH, dish.getId()), SearchSuggestionVO.builder()
+				.id(dish.getId())
+				.type(DISH_TYPE)
+				.name(dish.getName())
+				.categoryId(dish.getCategoryId())
+				.price(dish.getPrice())
+				.image(dish.getImage())
+				.build(), keys(dish.getName()));
+	}
+
+	private static Item item(Setmeal setmeal) {
+		return new Item(new ItemKey(CatalogType.SETMEAL, setmeal.getId()), SearchSuggestionVO.builder()
+				.id(setmeal.getId())
+				.type(SETMEAL_TYPE)
+				.name(setmeal.getName())
+				.categoryId(setmeal.getCategoryId())
+				.price(setmeal.getPrice())
+				.image(setmeal.getImage())
+				.build(), keys(setmeal.getName()));
+	}
+
+	/**
+	 * 名称本身、全拼、拼音首字母，多音字按读音组合
+	 */
+	static Set<String> keys(String name) {
+		Set<String> keys = new LinkedHashSet<>();
+		if (name == null) {
+			return keys;
+		}
+		String normalized = normalize(name);
+		keys.add(normalized);
+		List<String> full = List.of("");
+		List<String> initials = List.of("");
+		for (char c : normalized.toCharArray()) {
+			List<String> syllables = pinyin(c);
+			if (syllables.isEmpty()) {
+				if (!Character.isLetterOrDigit(c)) {
+					continue;
+				}
+				syllables = List.of(String.valueOf(c));
+			}
+			full = combine(full, syllables);
+			initials = combine(initials, syllables.stream().map(s -> s.substring(0, 1)).distinct().toList());
+		}
+		keys.addAll(full);
+		keys.addAll(initials);
+		keys.remove("");
+		return keys;
+	}
+
+	/**
+	 * 统一大小写并去掉空白，建立索引和查询使用相同的规则
+	 */
+	static String normalize(String text) {
+		return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+	}
+
+	private static List<String> pinyin(char c) {
+		try {
+			String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, PINYIN_FORMAT);
+			return readings == null ? List.of() : Arrays.stream(readings).distinct().toList();
+		} catch (BadHanyuPinyinOutputFormatCombination e) {
+			return List.of();
+		}
+	}
+
+	private static List<String> combine(List<String> prefixes, List<String> syllables) {
+		List<String> result = new ArrayList<>();
+		for (String prefix : prefixes) {
+			for (String syllable : syllables) {
+				if (result.size() == MAX_READINGS) {
+					return result;
+				}
+				result.add(prefix + syllable);
+			}
+		}
+		return result;
+	}
+
+	private void publish(String message) {
+		try {
+			redisTemplate.convertAndSend(CacheConstant.AUTOCOMPLETE_CHANNEL, message);
+		} catch (Exception e) {
+			log.error("发送搜索联想变更通知失败：{}", message, e);
+		}
+	}
+
+	private record ItemKey(CatalogType type, long id) {
+	}
+
+	private record Item(ItemKey key, SearchSuggestionVO suggestion, Set<String> keys) {
+	}
+}
@@ -0,0 +1,11 @@
+package com.sky.cache;
+
+/**
+ * 不可变的菜单快照，发布后只读
+ * @param version 单调递增的版本号
+ * @param etag 根据内容摘要生成的 ETag
+ * @param body 预先序列化好的 JSON 字节
+ * @param gzipBody 预先 gzip 压缩的 JSON 字节
+ */
+public record MenuSnapshot(long version, String etag, byte[] body, byte[] gzipBody) {
+}
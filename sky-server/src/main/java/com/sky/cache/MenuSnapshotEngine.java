@@ -0,0 +1,192 @@
+package com.sky.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sky.constant.CacheConstant;
+import com.sky.constant.StatusConstant;
+import com.sky.entity.Category;
+import com.sky.entity.Dish;
+import com.sky.entity.DishFlavor;
+import com.sky.entity.Setmeal;
+import com.sky.mapper.CategoryMapper;
+import com.sky.mapper.DishFlavorMapper;
+import com.sky.mapper.DishMapper;
+import com.sky.mapper.SetmealMapper;
+import com.sky.result.Result;
+import com.sky.vo.DishVO;
+import com.sky.vo.MenuVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 菜单快照引擎
+ * 将分类、启售菜品（含口味）和启售套餐组装成一份不可变文档，只序列化一次并原子发布，
+ * 接口直接输出预先编码好的字节，避免每次请求重复查询和序列化。
+ * 收到菜单快照、菜品、套餐缓存的失效广播后标记快照过期，下一次读取时重建，重建期间其他请求继续使用旧快照。
+ */
+@Component
+@Slf4j
+public class MenuSnapshotEngine implements MessageListener {
+
+	/**
+	 * 缓存失效消息中多个 key 的分隔符，与 TwoLevelCache 一致
+	 */
+	private static final String KEY_SEPARATOR = ",";
+
+	private final CategoryMapper categoryMapper;
+	private final DishMapper dishMapper;
+	private final DishFlavorMapper dishFlavorMapper;
+	private final SetmealMapper setmealMapper;
+	private final ObjectMapper objectMapper;
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	private final AtomicReference<MenuSnapshot> current = new AtomicReference<>();
+	private final AtomicLong version = new AtomicLong();
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private volatile boolean stale = true;
+
+	@Autowired
+	public MenuSnapshotEngine(CategoryMapper categoryMapper, DishMapper dishMapper, DishFlavorMapper dishFlavorMapper,
+	                          SetmealMapper setmealMapper, ObjectMapper objectMapper, RedisTemplate<String, Object> redisTemplate) {
+		this.categoryMapper = categoryMapper;
+		this.dishMapper = dishMapper;
+		this.dishFlavorMapper = dishFlavorMapper;
+		this.setmealMapper = setmealMapper;
+		this.objectMapper = objectMapper;
+		this.redisTemplate = redisTemplate;
+	}
+
+	/**
+	 * 获取当前菜单快照，过期时重建
+	 * @return 菜单快照
+	 */
+	public MenuSnapshot get() {
+		MenuSnapshot snapshot = current.get();
+		if (!stale && snapshot != null) {
+			return snapshot;
+		}
+		// 已有快照时，只有一个线程负责重建，其余线程直接返回旧快照
+		if (snapshot != null && !rebuildLock.tryLock()) {
+			return snapshot;
+		}
+		if (snapshot == null) {
+			rebuildLock.lock();
+		}
+		try {
+			if (stale || current.get() == null) {
+				rebuild();
+			}
+			return current.get();
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	/**
+	 * 标记菜单快照过期，并通知其他节点，存在事务时在提交后执行
+	 */
+	public void invalidate() {
+		AfterCommitExecutor.execute(() -> {
+			stale = true;
+			try {
+				redisTemplate.convertAndSend(CacheConstant.EVICT_CHANNEL, CacheConstant.MENU_SNAPSHOT);
+			} catch (Exception e) {
+				log.error("发送菜单快照失效通知失败", e);
+			}
+		});
+	}
+
+	/**
+	 * 菜单快照失效消息，以及菜品、套餐缓存的失效意味着菜单发生了变化；
+	 * 同一频道上的店铺状态、分类名称等其他消息不影响菜单
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String value)) {
+			return;
+		}
+		if (CacheConstant.MENU_SNAPSHOT.equals(value)) {
+			stale = true;
+			return;
+		}
+		for (String key : value.split(KEY_SEPARATOR)) {
+			if (key.startsWith(CacheConstant.DISH_KEY_PREFIX) || key.startsWith(CacheConstant.SETMEAL_KEY_PREFIX)
+					|| key.startsWith(CacheConstant.SETMEAL_DISH_KEY_PREFIX)) {
+				stale = true;
+				return;
+			}
+		}
+	}
+
+	private void rebuild() {
+		// 先清除标记，重建期间发生的修改会再次将其置为过期
+		stale = false;
+		byte[] body;
+		try {
+			body = objectMapper.writeValueAsBytes(Result.success(assemble()));
+		} catch (IOException e) {
+			stale = true;
+			throw new UncheckedIOException("菜单序列化失败", e);
+		} catch (RuntimeException e) {
+			stale = true;
+			throw e;
+		}
+		String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+		MenuSnapshot previous = current.get();
+		if (previous != null && previous.etag().equals(etag)) {
+			// 内容没有变化，保留原版本
+			return;
+		}
+		MenuSnapshot snapshot = new MenuSnapshot(version.incrementAndGet(), etag, body, gzip(body));
+		current.set(snapshot);
+		log.info("菜单快照已发布，版本：{}，大小：{} 字节，压缩后：{} 字节",
+				snapshot.version(), body.length, snapshot.gzipBody().length);
+	}
+
+	private MenuVO assemble() {
+		List<Category> categories = categoryMapper.list(null);
+		List<Dish> dishes = dishMapper.list(Dish.builder().status(StatusConstant.ENABLE).build());
+		Map<Long, List<DishFlavor>> flavors = dishFlavorMapper.listOfEnabledDish().stream()
+				.collect(Collectors.groupingBy(DishFlavor::getDishId));
+		List<DishVO> dishVOList = dishes.stream().map(dish -> {
+			DishVO dishVO = new DishVO();
+			BeanUtils.copyProperties(dish, dishVO);
+			dishVO.setFlavors(flavors.getOrDefault(dish.getId(), List.of()));
+			return dishVO;
+		}).toList();
+		List<Setmeal> setmeals = setmealMapper.list(Setmeal.builder().status(StatusConstant.ENABLE).build());
+		return MenuVO.builder()
+				.categories(categories)
+				.dishes(dishVOList)
+				.setmeals(setmeals)
+				.build();
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException("菜单压缩失败", e);
+		}
+		return out.toByteArray();
+	}
+}
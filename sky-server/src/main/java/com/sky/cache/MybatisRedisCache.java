@@ -0,0 +1,171 @@
+package com.sky.cache;
+
+import com.sky.constant.CacheConstant;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.Cache;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Redis 的 MyBatis 二级缓存，在 Mapper XML 中通过 cache 标签按命名空间开启：
+ * <pre>
+ * &lt;cache type="com.sky.cache.MybatisRedisCache"&gt;
+ *     &lt;property name="ttl" value="10m"/&gt;
+ *     &lt;property name="dependsOn" value="com.sky.mapper.CategoryMapper"/&gt;
+ * &lt;/cache&gt;
+ * </pre>
+ * ttl 为该命名空间缓存的存活时间；dependsOn 为联表查询依赖的其他命名空间，
+ * 这些命名空间执行写操作清空缓存时，当前命名空间的缓存也一并清空。
+ * 查询语句通过 useCache 决定是否使用缓存，注解方式的 Mapper 需要用 CacheNamespaceRef 引用 XML 中的缓存。
+ * 每个命名空间在 Redis 中维护一个代数，缓存 key 带上当前代数，清空时只需递增代数，旧代数的 key 由 ttl 过期删除。
+ */
+@Slf4j
+public class MybatisRedisCache implements Cache {
+
+	private static final String ALL = "*";
+	private static final String GENERATION = "generation";
+	private static final Map<String, Set<MybatisRedisCache>> DEPENDENTS = new ConcurrentHashMap<>();
+	private static volatile RedisTemplate<String, Object> redisTemplate;
+
+	private final String id;
+	private final String keyPrefix;
+	private final String generationKey;
+	private Duration ttl = Duration.ofMinutes(10);
+
+	public MybatisRedisCache(String id) {
+		this.id = id;
+		this.keyPrefix = CacheConstant.MYBATIS_KEY_PREFIX + id + ":";
+		this.generationKey = keyPrefix + GENERATION;
+	}
+
+	/**
+	 * MyBatis 通过反射创建缓存实例，由 Spring 在创建 RedisTemplate 后注入
+	 * @param template RedisTemplate
+	 */
+	public static void setRedisTemplate(RedisTemplate<String, Object> template) {
+		redisTemplate = template;
+	}
+
+	/**
+	 * 缓存存活时间，支持 10m、1h 等格式
+	 */
+	public void setTtl(String ttl) {
+		this.ttl = DurationStyle.detectAndParse(ttl);
+	}
+
+	/**
+	 * 依赖的命名空间，多个用逗号分隔
+	 */
+	public void setDependsOn(String namespaces) {
+		for (String namespace : namespaces.split(",")) {
+			DEPENDENTS.computeIfAbsent(namespace.trim(), k -> ConcurrentHashMap.newKeySet()).add(this);
+		}
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	@Override
+	public void putObject(Object key, Object value) {
+		if (redisTemplate == null || value == null) {
+			return;
+		}
+		try {
+			redisTemplate.opsForValue().set(redisKey(key), value, ttl);
+		} catch (Exception e) {
+			log.warn("写入MyBatis二级缓存失败：{}", id, e);
+		}
+	}
+
+	@Override
+	public Object getObject(Object key) {
+		if (redisTemplate == null) {
+			return null;
+		}
+		try {
+			return redisTemplate.opsForValue().get(redisKey(key));
+		} catch (Exception e) {
+			log.warn("读取MyBatis二级缓存失败，直接查询数据库：{}", id, e);
+			return null;
+		}
+	}
+
+	@Override
+	public Object removeObject(Object key) {
+		if (redisTemplate != null) {
+			redisTemplate.delete(redisKey(key));
+		}
+		return null;
+	}
+
+	/**
+	 * 清空当前命名空间以及所有依赖它的命名空间
+	 * MyBatis 在 Spring 事务提交前清空缓存，提交前其他请求仍可能把旧数据写回缓存，因此提交后再清空一次
+	 */
+	@Override
+	public void clear() {
+		clear(new HashSet<>());
+		AfterCommitExecutor.execute(() -> clear(new HashSet<>()));
+	}
+
+	@Override
+	public int getSize() {
+		return scanKeys().size();
+	}
+
+	private void clear(Set<String> cleared) {
+		if (!cleared.add(id) || redisTemplate == null) {
+			return;
+		}
+		try {
+			redisTemplate.opsForValue().increment(generationKey);
+		} catch (Exception e) {
+			log.error("清空MyBatis二级缓存失败：{}", id, e);
+		}
+		DEPENDENTS.getOrDefault(id, Set.of()).forEach(dependent -> dependent.clear(cleared));
+	}
+
+	private List<String> scanKeys() {
+		List<String> keys = new ArrayList<>();
+		if (redisTemplate == null) {
+			return keys;
+		}
+		ScanOptions options = ScanOptions.scanOptions().match(generationPrefix() + ALL).count(1000).build();
+		try (Cursor<String> cursor = redisTemplate.scan(options)) {
+			cursor.forEachRemaining(keys::add);
+		}
+		return keys;
+	}
+
+	/**
+	 * CacheKey 包含语句id、分页参数、SQL 和参数值，取摘要作为 Redis key
+	 */
+	private String redisKey(Object key) {
+		return generationPrefix() + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 当前代数的 key 前缀；代数由 INCR 写入，按原始字节读取，不经过值序列化器
+	 */
+	private String generationPrefix() {
+		byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+				connection.stringCommands().get(generationKey.getBytes(StandardCharsets.UTF_8)));
+		String generation = raw == null ? "0" : new String(raw, StandardCharsets.UTF_8);
+		return keyPrefix + generation + ":";
+	}
+}
@@ -0,0 +1,243 @@
+package com.sky.cache;
+
+import com.sky.constant.CacheConstant;
+import com.sky.entity.Category;
+import com.sky.entity.Dish;
+import com.sky.entity.Employee;
+import com.sky.entity.Setmeal;
+import com.sky.enumeration.NameIndexType;
+import com.sky.mapper.CategoryMapper;
+import com.sky.mapper.DishMapper;
+import com.sky.mapper.EmployeeMapper;
+import com.sky.mapper.SetmealMapper;
+import com.sky.properties.CatalogCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 后台分页查询的名称检索索引
+ * 启动时从数据库全量构建分类、菜品、套餐、员工名称的 n-gram 索引，
+ * 名称关键字先在索引中查出id，分页查询改为 id in (...)，避免 like '%关键字%' 全表扫描。
+ * 新增、修改、删除在事务提交后更新本节点索引，并广播给其他节点；定时全量重建，兜底丢失的变更消息。
+ * 以下情况返回 null，调用方退回 like 查询：索引尚未构建；超过最大过期时间没有重建成功，
+ * 或重建后有变更消息处理失败，索引可能已过期；匹配的id超过上限，id in (...) 不比 like 快。
+ */
+@Component
+@Slf4j
+public class NameSearchIndex implements ApplicationRunner, MessageListener {
+
+	private static final String SEPARATOR = ":";
+	private static final String ID_SEPARATOR = ",";
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final Map<NameIndexType, Supplier<Map<Long, String>>> loaders = new EnumMap<>(NameIndexType.class);
+	private final Map<NameIndexType, NgramIndex> indexes = new ConcurrentHashMap<>();
+	/**
+	 * 每种索引最近一次重建成功的时间，变更消息处理失败时移除，直到下次重建前视为过期
+	 */
+	private final Map<NameIndexType, Long> builtAt = new ConcurrentHashMap<>();
+	/**
+	 * 正在重建的索引类型及重建期间提交的变更，新索引替换前重放，由 this 保护
+	 */
+	private final Map<NameIndexType, List<Consumer<NgramIndex>>> changedDuringRebuild = new EnumMap<>(NameIndexType.class);
+	private final Object rebuildLock = new Object();
+	private final long maxStaleMillis;
+	private final int maxIds;
+
+	@Autowired
+	public NameSearchIndex(CategoryMapper categoryMapper, DishMapper dishMapper, SetmealMapper setmealMapper,
+	                       EmployeeMapper employeeMapper, RedisTemplate<String, Object> redisTemplate,
+	                       CatalogCacheProperties properties) {
+		this.redisTemplate = redisTemplate;
+		this.maxStaleMillis = properties.getNameIndexMaxStale().toMillis();
+		this.maxIds = properties.getNameIndexMaxIds();
+		loaders.put(NameIndexType.CATEGORY, () -> categoryMapper.listIdAndName().stream()
+				.collect(Collectors.toMap(Category::getId, Category::getName)));
+		loaders.put(NameIndexType.DISH, () -> dishMapper.listIdAndName().stream()
+				.collect(Collectors.toMap(Dish::getId, Dish::getName)));
+		loaders.put(NameIndexType.SETMEAL, () -> setmealMapper.listIdAndName().stream()
+				.collect(Collectors.toMap(Setmeal::getId, Setmeal::getName)));
+		loaders.put(NameIndexType.EMPLOYEE, () -> employeeMapper.listIdAndName().stream()
+				.collect(Collectors.toMap(Employee::getId, Employee::getName)));
+	}
+
+	/**
+	 * 启动完成后全量构建索引，构建失败的类型继续使用 like 查询
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		rebuildAll();
+	}
+
+	/**
+	 * 定期全量重建
+	 */
+	@Scheduled(initialDelayString = "${sky.cache.name-index-rebuild:30m}",
+			fixedDelayString = "${sky.cache.name-index-rebuild:30m}")
+	public void scheduledRebuild() {
+		rebuildAll();
+	}
+
+	/**
+	 * 查询名称包含关键字的id
+	 * @param type 索引类型
+	 * @param keyword 关键字
+	 * @return 匹配的id；关键字为空、索引不可用或匹配过多时返回 null，表示不按名称过滤或退回 like 查询
+	 */
+	public List<Long> search(NameIndexType type, String keyword) {
+		if (keyword == null || keyword.isBlank()) {
+			return null;
+		}
+		NgramIndex index = indexes.get(type);
+		Long built = builtAt.get(type);
+		if (index == null || built == null || System.currentTimeMillis() - built > maxStaleMillis) {
+			return null;
+		}
+		return index.search(keyword, maxIds);
+	}
+
+	/**
+	 * 新增或修改名称后更新索引，并通知其他节点，存在事务时在提交后执行
+	 * @param type 索引类型
+	 * @param id 数据id
+	 * @param name 新名称，为空表示名称没有修改
+	 */
+	public void put(NameIndexType type, Long id, String name) {
+		if (id == null || name == null) {
+			return;
+		}
+		AfterCommitExecutor.execute(() -> {
+			apply(type, id, name);
+			publish(type.name() + SEPARATOR + id + SEPARATOR + name);
+		});
+	}
+
+	/**
+	 * 删除数据后从索引中移除，并通知其他节点，存在事务时在提交后执行
+	 * @param type 索引类型
+	 * @param ids 数据id集合
+	 */
+	public void remove(NameIndexType type, Collection<Long> ids) {
+		List<Long> removed = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (removed.isEmpty()) {
+			return;
+		}
+		AfterCommitExecutor.execute(() -> {
+			apply(type, removed);
+			publish(type.name() + SEPARATOR + removed.stream().map(String::valueOf).collect(Collectors.joining(ID_SEPARATOR)));
+		});
+	}
+
+	/**
+	 * 接收其他节点的索引变更，本节点发出的消息重复执行一次，结果不变
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String value)) {
+			return;
+		}
+		// 名称中可能包含分隔符，最多拆成三段
+		String[] parts = value.split(SEPARATOR, 3);
+		NameIndexType type = NameIndexType.valueOf(parts[0]);
+		try {
+			if (parts.length == 3) {
+				apply(type, Long.valueOf(parts[1]), parts[2]);
+			} else {
+				apply(type, Arrays.stream(parts[1].split(ID_SEPARATOR)).map(Long::valueOf).toList());
+			}
+		} catch (Exception e) {
+			// 变更没有生效，下次重建前退回 like 查询
+			builtAt.remove(type);
+			log.error("处理名称索引变更失败：{}", value, e);
+		}
+	}
+
+	private void apply(NameIndexType type, Long id, String name) {
+		apply(type, index -> index.put(id, name));
+	}
+
+	private void apply(NameIndexType type, List<Long> ids) {
+		apply(type, index -> ids.forEach(index::remove));
+	}
+
+	/**
+	 * 更新当前索引；正在重建时记录变更，新索引替换前重放
+	 */
+	private synchronized void apply(NameIndexType type, Consumer<NgramIndex> change) {
+		List<Consumer<NgramIndex>> pending = changedDuringRebuild.get(type);
+		if (pending != null) {
+			pending.add(change);
+		}
+		NgramIndex index = indexes.get(type);
+		if (index != null) {
+			change.accept(index);
+		}
+	}
+
+	private void rebuildAll() {
+		synchronized (rebuildLock) {
+			for (NameIndexType type : NameIndexType.values()) {
+				try {
+					rebuild(type);
+				} catch (Exception e) {
+					log.error("{} 名称索引构建失败", type, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 在锁外查询数据库并构建新索引，只在替换时持有锁：先重放构建期间提交的变更，再替换旧索引，变更不会丢失；
+	 * 查询使用索引自身的锁，不受影响
+	 */
+	private void rebuild(NameIndexType type) {
+		long start = System.currentTimeMillis();
+		synchronized (this) {
+			changedDuringRebuild.put(type, new ArrayList<>());
+		}
+		try {
+			NgramIndex index = new NgramIndex();
+			loaders.get(type).get().forEach(index::put);
+			synchronized (this) {
+				changedDuringRebuild.get(type).forEach(change -> change.accept(index));
+				indexes.put(type, index);
+				builtAt.put(type, start);
+			}
+			log.info("{} 名称索引已构建，名称数量：{}，倒排表数量：{}，耗时：{} ms",
+					type, index.size(), index.gramCount(), System.currentTimeMillis() - start);
+		} finally {
+			synchronized (this) {
+				changedDuringRebuild.remove(type);
+			}
+		}
+	}
+
+	private void publish(String message) {
+		try {
+			redisTemplate.convertAndSend(CacheConstant.NAME_INDEX_CHANNEL, message);
+		} catch (Exception e) {
+			log.error("发送名称索引变更通知失败：{}", message, e);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.sky.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 名称子串检索的 n-gram 倒排索引，线程安全
+ * 每个名称按字符切分出长度 1 到 3 的全部片段，适用于不分词的中文名称。
+ * 不超过 3 个字的关键字直接命中倒排表；更长的关键字取各三元片段倒排表的交集，再按原名称校验子串。
+ */
+public class NgramIndex {
+
+	private static final int MAX_GRAM = 3;
+
+	private final Map<String, Set<Long>> postings = new HashMap<>();
+	private final Map<Long, String> names = new HashMap<>();
+
+	/**
+	 * 加入或更新名称
+	 * @param id 数据id
+	 * @param name 名称
+	 */
+	public synchronized void put(long id, String name) {
+		remove(id);
+		if (name == null || name.isBlank()) {
+			return;
+		}
+		String normalized = normalize(name);
+		names.put(id, normalized);
+		for (String gram : grams(normalized)) {
+			postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+		}
+	}
+
+	/**
+	 * 移除名称
+	 * @param id 数据id
+	 */
+	public synchronized void remove(long id) {
+		String name = names.remove(id);
+		if (name == null) {
+			return;
+		}
+		for (String gram : grams(name)) {
+			Set<Long> ids = postings.get(gram);
+			if (ids != null && ids.remove(id) && ids.isEmpty()) {
+				postings.remove(gram);
+			}
+		}
+	}
+
+	/**
+	 * 查询名称包含关键字的id，匹配数量超过上限时不再继续
+	 * @param keyword 关键字
+	 * @param maxIds 最多返回的id数量
+	 * @return 匹配的id，无序；超过上限时返回 null
+	 */
+	public synchronized List<Long> search(String keyword, int maxIds) {
+		String normalized = normalize(keyword);
+		if (normalized.length() <= MAX_GRAM) {
+			Set<Long> ids = postings.getOrDefault(normalized, Set.of());
+			return ids.size() > maxIds ? null : new ArrayList<>(ids);
+		}
+		// 从最短的倒排表开始求交集
+		List<Set<Long>> lists = new ArrayList<>();
+		for (int i = 0; i + MAX_GRAM <= normalized.length(); i++) {
+			Set<Long> ids = postings.get(normalized.substring(i, i + MAX_GRAM));
+			if (ids == null) {
+				return new ArrayList<>();
+			}
+			lists.add(ids);
+		}
+		lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+		List<Long> result = new ArrayList<>();
+		for (Long id : lists.get(0)) {
+			if (containsAll(lists, id) && names.get(id).contains(normalized)) {
+				if (result.size() == maxIds) {
+					return null;
+				}
+				result.add(id);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return 已索引的名称数量
+	 */
+	public synchronized int size() {
+		return names.size();
+	}
+
+	/**
+	 * @return 倒排表数量
+	 */
+	public synchronized int gramCount() {
+		return postings.size();
+	}
+
+	/**
+	 * 统一大小写并去掉首尾空白，索引和查询使用相同的规则
+	 */
+	static String normalize(String text) {
+		return text.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean containsAll(Collection<Set<Long>> lists, Long id) {
+		for (Set<Long> ids : lists) {
+			if (!ids.contains(id)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Set<String> grams(String name) {
+		Set<String> grams = new HashSet<>();
+		for (int length = 1; length <= MAX_GRAM; length++) {
+			for (int i = 0; i + length <= name.length(); i++) {
+				grams.add(name.substring(i, i + length));
+			}
+		}
+		return grams;
+	}
+}
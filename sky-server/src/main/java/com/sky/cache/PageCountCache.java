@@ -0,0 +1,223 @@
+package com.sky.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.pagehelper.PageHelper;
+import com.sky.constant.CacheConstant;
+import com.sky.properties.CatalogCacheProperties;
+import com.sky.result.PageResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 后台分页查询的总数缓存
+ * 总数按 Mapper 命名空间和筛选条件缓存在本地，该命名空间执行任意写语句时清空（见 PageCountInvalidator），
+ * 并通过 Redis 频道通知其他节点；缓存命中时分页查询不再执行 count 语句。
+ * 只有分页查询用到过的命名空间才需要失效：命名空间第一次用到时记录到 Redis 集合并广播，
+ * 其他节点收到广播或启动时读取集合，得知哪些命名空间需要失效；同一事务内每个命名空间只失效并通知一次。
+ * 调用方可以接受估算总数时，未命中缓存也不执行 count，而是多取一条判断是否还有下一页，
+ * 此时返回的总数是下限，PageResult.totalExact 为 false；页码超出末尾时仍执行 count，返回精确总数。
+ */
+@Component
+@Slf4j
+public class PageCountCache implements MessageListener, ApplicationRunner {
+
+	private static final String SEPARATOR = "|";
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final Cache<String, Long> counts;
+	/**
+	 * 需要失效的命名空间，包括本节点用到的和从其他节点得知的
+	 */
+	private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public PageCountCache(RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties) {
+		this.redisTemplate = redisTemplate;
+		this.counts = Caffeine.newBuilder()
+				.maximumSize(properties.getPageCountMaximumSize())
+				.expireAfterWrite(properties.getPageCountTtl())
+				.build();
+	}
+
+	/**
+	 * 启动时读取其他节点用到过的命名空间；消息监听先于此启动，读取之后登记的命名空间由广播补上
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		try {
+			Set<Object> members = redisTemplate.opsForSet().members(CacheConstant.PAGE_COUNT_NAMESPACES);
+			if (members != null) {
+				members.forEach(member -> namespaces.add((String) member));
+			}
+		} catch (Exception e) {
+			log.error("读取分页总数缓存的命名空间失败", e);
+		}
+	}
+
+	/**
+	 * 分页查询，总数优先使用缓存
+	 * @param mapper 查询所在的 Mapper，写语句按命名空间清空总数
+	 * @param filters 影响总数的筛选条件，不包含页码
+	 * @param page 页码
+	 * @param pageSize 每页记录数
+	 * @param estimate 未命中缓存时是否跳过 count 查询，返回估算的总数
+	 * @param select 查询当前页数据的 Mapper 调用
+	 * @return 分页结果
+	 * @param <T> 记录类型
+	 */
+	public <T> PageResult<T> query(Class<?> mapper, List<?> filters, int page, int pageSize, boolean estimate,
+	                               Supplier<List<T>> select) {
+		register(mapper.getName());
+		String key = mapper.getName() + SEPARATOR + filters.stream().map(PageCountCache::normalize)
+				.collect(Collectors.joining(SEPARATOR));
+		int offset = Math.max(page - 1, 0) * pageSize;
+		Long total = counts.getIfPresent(key);
+		if (total == null && !estimate) {
+			total = PageHelper.count(select::get);
+			counts.put(key, total);
+		}
+		try {
+			if (total != null) {
+				if (offset >= total) {
+					return new PageResult<>(total, List.of());
+				}
+				PageHelper.offsetPage(offset, pageSize, false);
+				return new PageResult<>(total, select.get());
+			}
+			// 多取一条判断是否还有下一页
+			PageHelper.offsetPage(offset, pageSize + 1, false);
+			List<T> rows = select.get();
+			if (rows.isEmpty() && offset > 0) {
+				// 页码超出末尾时得不到下限，执行 count 返回精确总数
+				long counted = PageHelper.count(select::get);
+				counts.put(key, counted);
+				return new PageResult<>(counted, List.of());
+			}
+			boolean hasMore = rows.size() > pageSize;
+			List<T> records = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+			long lowerBound = (long) offset + rows.size();
+			// 没有下一页时，下限就是精确总数
+			boolean exact = !hasMore;
+			if (exact) {
+				counts.put(key, lowerBound);
+			}
+			return new PageResult<>(lowerBound, records, exact);
+		} finally {
+			PageHelper.clearPage();
+		}
+	}
+
+	/**
+	 * 清空命名空间的总数缓存，存在事务时在提交后再清空一次并通知其他节点，
+	 * 避免提交前重新统计的旧总数留在缓存中；没有用到分页总数缓存的命名空间直接忽略，
+	 * 同一事务内重复调用只执行第一次
+	 * @param namespace Mapper 命名空间
+	 */
+	public void invalidate(String namespace) {
+		if (!namespaces.contains(namespace) || !firstInTransaction(namespace)) {
+			return;
+		}
+		evict(namespace);
+		AfterCommitExecutor.execute(() -> {
+			evict(namespace);
+			try {
+				redisTemplate.convertAndSend(CacheConstant.PAGE_COUNT_CHANNEL, namespace);
+			} catch (Exception e) {
+				log.error("发送分页总数失效通知失败：{}", namespace, e);
+			}
+		});
+	}
+
+	/**
+	 * 接收其他节点的失效通知，也是命名空间第一次用到时的登记广播
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (body instanceof String namespace) {
+			namespaces.add(namespace);
+			evict(namespace);
+		}
+	}
+
+	/**
+	 * 命名空间第一次用到时先写入 Redis 集合再广播，启动中的节点要么读到集合，要么收到广播
+	 */
+	private void register(String namespace) {
+		if (!namespaces.add(namespace)) {
+			return;
+		}
+		try {
+			redisTemplate.opsForSet().add(CacheConstant.PAGE_COUNT_NAMESPACES, namespace);
+			redisTemplate.convertAndSend(CacheConstant.PAGE_COUNT_CHANNEL, namespace);
+		} catch (Exception e) {
+			log.error("登记分页总数缓存的命名空间失败：{}", namespace, e);
+		}
+	}
+
+	/**
+	 * 记录当前事务已失效的命名空间，没有事务时总是返回 true
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean firstInTransaction(String namespace) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return true;
+		}
+		Set<String> invalidated = (Set<String>) TransactionSynchronizationManager.getResource(this);
+		if (invalidated == null) {
+			Set<String> created = new HashSet<>();
+			TransactionSynchronizationManager.bindResource(this, created);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void suspend() {
+					TransactionSynchronizationManager.unbindResource(PageCountCache.this);
+				}
+
+				@Override
+				public void resume() {
+					TransactionSynchronizationManager.bindResource(PageCountCache.this, created);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(PageCountCache.this);
+				}
+			});
+			invalidated = created;
+		}
+		return invalidated.add(namespace);
+	}
+
+	private void evict(String namespace) {
+		String prefix = namespace + SEPARATOR;
+		counts.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	/**
+	 * 字符串条件去掉首尾空白，空串与 null 视为同一条件
+	 */
+	private static String normalize(Object filter) {
+		if (filter instanceof String text) {
+			return text.trim();
+		}
+		return filter == null ? "" : filter.toString();
+	}
+}
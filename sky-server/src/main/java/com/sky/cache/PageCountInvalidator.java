@@ -0,0 +1,36 @@
+package com.sky.cache;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatis 插件：任意 insert、update、delete 语句执行后清空该 Mapper 命名空间的分页总数缓存
+ * 在语句层面拦截，新增的写操作不需要在业务代码中逐个维护失效逻辑；
+ * 没有用到分页总数缓存的命名空间以及同一事务内的重复失效由 PageCountCache 忽略。
+ */
+@Component
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class PageCountInvalidator implements Interceptor {
+
+	private final PageCountCache pageCountCache;
+
+	@Autowired
+	public PageCountInvalidator(PageCountCache pageCountCache) {
+		this.pageCountCache = pageCountCache;
+	}
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object result = invocation.proceed();
+		MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+		String id = ms.getId();
+		pageCountCache.invalidate(id.substring(0, id.lastIndexOf('.')));
+		return result;
+	}
+}
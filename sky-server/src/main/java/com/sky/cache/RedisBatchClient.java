@@ -0,0 +1,108 @@
+package com.sky.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 菜单缓存的批量读写入口
+ * 批量读取使用 MGET，批量写入使用管道，一次调用只产生一次网络往返，
+ * 并按读、写分别记录每次调用的 key 数量分布。
+ */
+@Component
+public class RedisBatchClient {
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final DistributionSummary getBatchSize;
+	private final DistributionSummary setBatchSize;
+
+	@Autowired
+	public RedisBatchClient(RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.getBatchSize = batchSize(meterRegistry, "get");
+		this.setBatchSize = batchSize(meterRegistry, "set");
+	}
+
+	/**
+	 * 批量读取
+	 * @param keys Redis key 列表
+	 * @return 与 keys 一一对应的值，不存在的 key 对应 null
+	 */
+	public List<Object> multiGet(List<String> keys) {
+		if (keys.isEmpty()) {
+			return List.of();
+		}
+		getBatchSize.record(keys.size());
+		List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+		return values != null ? values : Collections.nCopies(keys.size(), null);
+	}
+
+	/**
+	 * 批量写入，所有 key 使用相同的存活时间
+	 * @param values Redis key 与值
+	 * @param ttl 存活时间
+	 */
+	public void multiSet(Map<String, ?> values, Duration ttl) {
+		multiSet(values, ttl, RedisStringCommands.SetOption.upsert());
+	}
+
+	/**
+	 * 批量写入不存在的 key（SET NX），已存在的 key 保持不变，所有 key 使用相同的存活时间
+	 * @param values Redis key 与值
+	 * @param ttl 存活时间
+	 * @return 实际写入的 key
+	 */
+	public Set<String> multiSetIfAbsent(Map<String, ?> values, Duration ttl) {
+		List<Object> results = multiSet(values, ttl, RedisStringCommands.SetOption.ifAbsent());
+		Set<String> written = new LinkedHashSet<>();
+		int i = 0;
+		for (String key : values.keySet()) {
+			if (i < results.size() && Boolean.TRUE.equals(results.get(i))) {
+				written.add(key);
+			}
+			i++;
+		}
+		return written;
+	}
+
+	/**
+	 * @return 与 values 顺序一致的每条 SET 的结果
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> multiSet(Map<String, ?> values, Duration ttl, RedisStringCommands.SetOption option) {
+		if (values.isEmpty()) {
+			return List.of();
+		}
+		setBatchSize.record(values.size());
+		RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+		RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+		Expiration expiration = Expiration.from(ttl);
+		return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			values.forEach((key, value) -> connection.stringCommands().set(
+					keySerializer.serialize(key), valueSerializer.serialize(value),
+					expiration, option));
+			return null;
+		});
+	}
+
+	private static DistributionSummary batchSize(MeterRegistry meterRegistry, String operation) {
+		return DistributionSummary.builder("sky.cache.redis.batch.size")
+				.description("每次批量读写的key数量")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+}
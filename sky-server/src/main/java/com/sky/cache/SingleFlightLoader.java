@@ -0,0 +1,148 @@
+package com.sky.cache;
+
+import com.sky.properties.CatalogCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 缓存未命中时的请求合并加载器
+ * 同一节点内，相同 key 的并发未命中只由一个线程加载，其余线程等待同一个 Future；
+ * 多个节点之间，通过 Redis 中的短租约保证只有一个节点回源数据库，其余节点轮询等待缓存被回填。
+ */
+@Component
+@Slf4j
+public class SingleFlightLoader {
+
+	private static final String LEASE_KEY_PREFIX = "lease:";
+
+	/**
+	 * 只有租约持有者才能释放租约
+	 */
+	private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+			"if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final Duration leaseTtl;
+	private final Duration leaseWaitInterval;
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private final Counter loads;
+	private final Counter coalescedWaiters;
+	private final Counter leaseWaits;
+	private final Counter leaseTimeouts;
+
+	@Autowired
+	public SingleFlightLoader(RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+		this.redisTemplate = redisTemplate;
+		this.leaseTtl = properties.getLeaseTtl();
+		this.leaseWaitInterval = properties.getLeaseWaitInterval();
+		this.loads = meterRegistry.counter("sky.cache.single.flight.loads");
+		this.coalescedWaiters = meterRegistry.counter("sky.cache.single.flight.coalesced");
+		this.leaseWaits = meterRegistry.counter("sky.cache.single.flight.lease.waits");
+		this.leaseTimeouts = meterRegistry.counter("sky.cache.single.flight.lease.timeouts");
+		meterRegistry.gauge("sky.cache.single.flight.in.flight", inFlight, Map::size);
+	}
+
+	/**
+	 * 合并加载
+	 * @param key 缓存 key
+	 * @param cached 读取 Redis 中已有的值，其他节点回填后可以直接读到
+	 * @param loader 回源数据库并写入 Redis
+	 * @return 加载结果
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V load(String key, Supplier<V> cached, Supplier<V> loader) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			// 已有线程在加载，等待其结果
+			coalescedWaiters.increment();
+			try {
+				return (V) existing.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw e;
+			}
+		}
+		try {
+			V value = loadWithLease(key, cached, loader);
+			future.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	private <V> V loadWithLease(String key, Supplier<V> cached, Supplier<V> loader) {
+		// 成为加载者后再检查一次，前一轮加载可能刚刚回填
+		V value = cached.get();
+		if (value != null) {
+			return value;
+		}
+		String leaseKey = LEASE_KEY_PREFIX + key;
+		String token = UUID.randomUUID().toString();
+		Boolean acquired;
+		try {
+			acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTtl);
+		} catch (Exception e) {
+			log.warn("获取缓存重建租约失败，直接回源：{}", leaseKey, e);
+			loads.increment();
+			return loader.get();
+		}
+		if (Boolean.TRUE.equals(acquired)) {
+			try {
+				loads.increment();
+				return loader.get();
+			} finally {
+				release(leaseKey, token);
+			}
+		}
+		// 其他节点正在重建，等待其回填缓存
+		leaseWaits.increment();
+		long deadline = System.nanoTime() + leaseTtl.toNanos();
+		while (System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(leaseWaitInterval);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			value = cached.get();
+			if (value != null) {
+				return value;
+			}
+		}
+		// 租约过期仍未回填，自行回源
+		leaseTimeouts.increment();
+		loads.increment();
+		return loader.get();
+	}
+
+	private void release(String leaseKey, String token) {
+		try {
+			redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+		} catch (Exception e) {
+			log.warn("释放缓存重建租约失败：{}", leaseKey, e);
+		}
+	}
+}
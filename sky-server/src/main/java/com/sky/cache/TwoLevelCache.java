@@ -0,0 +1,363 @@
+package com.sky.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sky.constant.CacheConstant;
+import com.sky.properties.CatalogCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 二级读穿缓存：进程内 Caffeine 作为一级缓存，Redis 作为二级缓存
+ * 读取顺序为 本地缓存 -> Redis -> 数据库，回源时合并相同 key 的并发请求，
+ * 失效时清理两级缓存，并通过 Redis 频道通知其他节点清理本地缓存
+ * @param <V> 缓存值类型
+ */
+@Slf4j
+public class TwoLevelCache<V> implements MessageListener {
+
+	private static final String ALL = "*";
+	private static final String SEPARATOR = ",";
+
+	private final String keyPrefix;
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final Duration redisTtl;
+	private final Cache<Long, V> localCache;
+	private final SingleFlightLoader singleFlightLoader;
+	private final HotKeyRedisReader hotKeyRedisReader;
+	private final RedisBatchClient redisBatchClient;
+	/**
+	 * 失效版本号：每次清理递增，记录每个 key 最后一次被清理时的版本，用于判断批量加载期间 key 是否被清理过
+	 */
+	private final AtomicLong version = new AtomicLong();
+	private final Cache<Long, Long> evictedVersions;
+	private volatile long evictedAllVersion;
+
+	public TwoLevelCache(String keyPrefix, RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties,
+	                     SingleFlightLoader singleFlightLoader, HotKeyRedisReader hotKeyRedisReader,
+	                     RedisBatchClient redisBatchClient) {
+		this.keyPrefix = keyPrefix;
+		this.redisTemplate = redisTemplate;
+		this.singleFlightLoader = singleFlightLoader;
+		this.hotKeyRedisReader = hotKeyRedisReader;
+		this.redisBatchClient = redisBatchClient;
+		this.redisTtl = properties.getRedisTtl();
+		this.localCache = Caffeine.newBuilder()
+				.maximumSize(properties.getLocalMaximumSize())
+				.expireAfterWrite(properties.getLocalTtl())
+				.build();
+		// 超过 Redis 存活时间的清理记录不再影响写入
+		this.evictedVersions = Caffeine.newBuilder()
+				.expireAfterWrite(redisTtl)
+				.build();
+	}
+
+	/**
+	 * 读取缓存，未命中时调用 loader 从数据库加载并回填两级缓存
+	 * 读取前记录失效版本号，读取期间被清理过的 key 不回填，避免用读到的旧数据覆盖修改后的清理
+	 * @param id 业务id，为空时不走缓存
+	 * @param loader 数据库加载函数
+	 * @return 缓存值
+	 */
+	public V get(Long id, Function<Long, V> loader) {
+		if (id == null) {
+			return loader.apply(null);
+		}
+		V value = localCache.getIfPresent(id);
+		if (value != null) {
+			return value;
+		}
+		long sinceVersion = version.get();
+		String key = keyPrefix + id;
+		value = readRedis(key);
+		if (value == null) {
+			// 相同 key 的并发未命中只回源一次
+			value = singleFlightLoader.load(key, () -> readRedis(key), () -> loadAndFill(key, id, loader));
+			if (value == null) {
+				return null;
+			}
+		}
+		putLocal(Map.of(id, value), sinceVersion);
+		return value;
+	}
+
+	/**
+	 * 批量读取缓存，本地缓存未命中的 key 通过一次 MGET 读取 Redis，仍未命中的通过一次批量查询回源，再通过管道一次写回
+	 * @param ids 业务id集合
+	 * @param loader 批量加载函数，传入全部未命中的id，返回业务id与值
+	 * @return 业务id与缓存值，加载结果中没有的id不包含在结果中
+	 */
+	public Map<Long, V> getAll(Collection<Long> ids, Function<List<Long>, Map<Long, V>> loader) {
+		Map<Long, V> result = new LinkedHashMap<>();
+		List<Long> misses = new ArrayList<>();
+		for (Long id : ids.stream().filter(Objects::nonNull).distinct().toList()) {
+			V value = localCache.getIfPresent(id);
+			if (value != null) {
+				result.put(id, value);
+			} else {
+				misses.add(id);
+			}
+		}
+		if (misses.isEmpty()) {
+			return result;
+		}
+		long sinceVersion = version.get();
+		List<Object> cached = multiGetRedis(misses.stream().map(id -> keyPrefix + id).toList());
+		Map<Long, V> hits = new LinkedHashMap<>();
+		List<Long> unloaded = new ArrayList<>();
+		for (int i = 0; i < misses.size(); i++) {
+			Long id = misses.get(i);
+			@SuppressWarnings("unchecked")
+			V value = (V) cached.get(i);
+			if (value == null) {
+				unloaded.add(id);
+			} else {
+				hits.put(id, value);
+			}
+		}
+		putLocal(hits, sinceVersion);
+		result.putAll(hits);
+		if (unloaded.isEmpty()) {
+			return result;
+		}
+		Map<Long, V> batch = loader.apply(unloaded);
+		Map<Long, V> loaded = new LinkedHashMap<>();
+		for (Long id : unloaded) {
+			V value = batch.get(id);
+			if (value != null) {
+				result.put(id, value);
+				// 加载期间被清理过的 key 只返回给调用方，不回填
+				if (!evictedSince(id, sinceVersion)) {
+					loaded.put(id, value);
+				}
+			}
+		}
+		if (loaded.isEmpty()) {
+			return result;
+		}
+		try {
+			putRedis(loaded);
+			deleteEvictedSince(loaded.keySet(), sinceVersion);
+		} catch (Exception e) {
+			log.warn("批量写入Redis缓存失败：{}{}", keyPrefix, loaded.keySet(), e);
+		}
+		putLocal(loaded, sinceVersion);
+		return result;
+	}
+
+	/**
+	 * @return 当前失效版本号，批量加载前记录，传给 putAll 判断加载期间哪些 key 被清理过
+	 */
+	public long version() {
+		return version.get();
+	}
+
+	/**
+	 * 批量写入两级缓存，用于缓存预热，Redis 通过管道一次往返写入
+	 * 加载开始后被清理过的 key 不写入，Redis 只写入不存在的 key，避免用加载时读到的旧数据覆盖修改后的数据，
+	 * 本地缓存也只回填 Redis 实际写入的 key；写入后再检查一次，写入期间被清理的 key 重新删除。
+	 * 已存在的值不会被覆盖，因此不通知其他节点
+	 * @param values 业务id与缓存值
+	 * @param sinceVersion 开始加载前通过 version() 记录的版本号
+	 * @return 写入的条目数，不含加载期间被清理的 key
+	 */
+	public int putAll(Map<Long, V> values, long sinceVersion) {
+		Map<Long, V> fresh = new LinkedHashMap<>();
+		values.forEach((id, value) -> {
+			if (!evictedSince(id, sinceVersion)) {
+				fresh.put(id, value);
+			}
+		});
+		if (fresh.isEmpty()) {
+			return 0;
+		}
+		Map<String, V> entries = new LinkedHashMap<>();
+		fresh.forEach((id, value) -> entries.put(keyPrefix + id, value));
+		Set<String> written = redisBatchClient.multiSetIfAbsent(entries, redisTtl);
+		List<Long> writtenIds = fresh.keySet().stream().filter(id -> written.contains(keyPrefix + id)).toList();
+		writtenIds.forEach(id -> localCache.asMap().putIfAbsent(id, fresh.get(id)));
+		List<Long> evictedMeanwhile = deleteEvictedSince(writtenIds, sinceVersion);
+		localCache.invalidateAll(evictedMeanwhile);
+		return writtenIds.size() - evictedMeanwhile.size();
+	}
+
+	/**
+	 * 清理指定id的缓存，存在事务时在提交后执行，避免读到未提交前的旧数据
+	 * @param id 业务id
+	 */
+	public void evict(Long id) {
+		if (id != null) {
+			evict(List.of(id));
+		}
+	}
+
+	/**
+	 * 批量清理指定id的缓存
+	 * @param ids 业务id集合
+	 */
+	public void evict(Collection<Long> ids) {
+		List<Long> keys = ids.stream().filter(Objects::nonNull).distinct().toList();
+		if (keys.isEmpty()) {
+			return;
+		}
+		AfterCommitExecutor.execute(() -> {
+			markEvicted(keys);
+			List<String> redisKeys = keys.stream().map(id -> keyPrefix + id).toList();
+			// 先清理热点副本，避免本地缓存从旧副本回填
+			redisKeys.forEach(hotKeyRedisReader::evictReplica);
+			localCache.invalidateAll(keys);
+			try {
+				redisTemplate.delete(redisKeys);
+				publish(String.join(SEPARATOR, redisKeys));
+			} catch (Exception e) {
+				log.error("清理Redis缓存失败：{}", redisKeys, e);
+			}
+		});
+	}
+
+	/**
+	 * 清理当前缓存的全部数据
+	 */
+	public void evictAll() {
+		AfterCommitExecutor.execute(() -> {
+			evictedAllVersion = version.incrementAndGet();
+			hotKeyRedisReader.evictReplica(keyPrefix + ALL);
+			localCache.invalidateAll();
+			ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + ALL).count(1000).build();
+			try (Cursor<String> cursor = redisTemplate.scan(options)) {
+				List<String> redisKeys = new ArrayList<>();
+				cursor.forEachRemaining(redisKeys::add);
+				if (!redisKeys.isEmpty()) {
+					redisTemplate.delete(redisKeys);
+				}
+				publish(keyPrefix + ALL);
+			} catch (Exception e) {
+				log.error("清理Redis缓存失败：{}", keyPrefix + ALL, e);
+			}
+		});
+	}
+
+	/**
+	 * 接收其他节点的失效广播，清理本地缓存
+	 */
+	@Override
+	public void onMessage(@NonNull Message message, byte[] pattern) {
+		Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+		if (!(body instanceof String keys)) {
+			return;
+		}
+		for (String key : keys.split(SEPARATOR)) {
+			if (!key.startsWith(keyPrefix)) {
+				continue;
+			}
+			hotKeyRedisReader.evictReplica(key);
+			String id = key.substring(keyPrefix.length());
+			if (ALL.equals(id)) {
+				evictedAllVersion = version.incrementAndGet();
+				localCache.invalidateAll();
+			} else {
+				markEvicted(List.of(Long.valueOf(id)));
+				localCache.invalidate(Long.valueOf(id));
+			}
+		}
+	}
+
+	private void markEvicted(Collection<Long> ids) {
+		long current = version.incrementAndGet();
+		ids.forEach(id -> evictedVersions.put(id, current));
+	}
+
+	private boolean evictedSince(Long id, long sinceVersion) {
+		Long evicted = evictedVersions.getIfPresent(id);
+		return evictedAllVersion > sinceVersion || (evicted != null && evicted > sinceVersion);
+	}
+
+	@SuppressWarnings("unchecked")
+	private V readRedis(String key) {
+		try {
+			return (V) hotKeyRedisReader.get(key);
+		} catch (Exception e) {
+			log.warn("读取Redis缓存失败，直接查询数据库：{}", key, e);
+			return null;
+		}
+	}
+
+	/**
+	 * 回源并写入 Redis，加载期间被清理过的 key 不写入；写入后再检查一次，写入期间被清理的 key 重新删除
+	 */
+	private V loadAndFill(String key, Long id, Function<Long, V> loader) {
+		long sinceVersion = version.get();
+		V value = loader.apply(id);
+		if (value != null && !evictedSince(id, sinceVersion)) {
+			try {
+				redisTemplate.opsForValue().set(key, value, redisTtl);
+				deleteEvictedSince(List.of(id), sinceVersion);
+			} catch (Exception e) {
+				log.warn("写入Redis缓存失败：{}", key, e);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * 回填本地缓存，读取期间被清理过的 key 不回填；回填后再检查一次，回填期间被清理的 key 重新移除
+	 */
+	private void putLocal(Map<Long, V> values, long sinceVersion) {
+		values.forEach((id, value) -> {
+			if (!evictedSince(id, sinceVersion)) {
+				localCache.put(id, value);
+				if (evictedSince(id, sinceVersion)) {
+					localCache.invalidate(id);
+				}
+			}
+		});
+	}
+
+	/**
+	 * 删除 Redis 中写入期间被清理过的 key
+	 * @return 被清理过的id
+	 */
+	private List<Long> deleteEvictedSince(Collection<Long> ids, long sinceVersion) {
+		List<Long> evicted = ids.stream().filter(id -> evictedSince(id, sinceVersion)).toList();
+		if (!evicted.isEmpty()) {
+			redisTemplate.delete(evicted.stream().map(id -> keyPrefix + id).toList());
+		}
+		return evicted;
+	}
+
+	private List<Object> multiGetRedis(List<String> keys) {
+		try {
+			return redisBatchClient.multiGet(keys);
+		} catch (Exception e) {
+			log.warn("批量读取Redis缓存失败，直接查询数据库：{}", keys, e);
+			return Collections.nCopies(keys.size(), null);
+		}
+	}
+
+	private void putRedis(Map<Long, V> values) {
+		Map<String, V> entries = new LinkedHashMap<>();
+		values.forEach((id, value) -> entries.put(keyPrefix + id, value));
+		redisBatchClient.multiSet(entries, redisTtl);
+	}
+
+	private void publish(String keys) {
+		redisTemplate.convertAndSend(CacheConstant.EVICT_CHANNEL, keys);
+	}
+}
@@ -0,0 +1,96 @@
+package com.sky.config;
+
+import com.sky.cache.CatalogIdFilter;
+import com.sky.cache.CategoryNameDictionary;
+import com.sky.cache.HotKeyRedisReader;
+import com.sky.cache.MenuAutocomplete;
+import com.sky.cache.MenuSnapshotEngine;
+import com.sky.cache.NameSearchIndex;
+import com.sky.cache.PageCountCache;
+import com.sky.cache.RedisBatchClient;
+import com.sky.cache.SingleFlightLoader;
+import com.sky.cache.TwoLevelCache;
+import com.sky.constant.CacheConstant;
+import com.sky.entity.Dish;
+import com.sky.entity.Setmeal;
+import com.sky.properties.CatalogCacheProperties;
+import com.sky.vo.DishItemVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+/**
+ * 菜单缓存配置类
+ * 负责创建各业务的二级缓存，并订阅缓存失效广播
+ */
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+	/**
+	 * 按分类缓存的菜品列表
+	 */
+	@Bean
+	public TwoLevelCache<List<Dish>> dishCache(RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties,
+	                                           SingleFlightLoader singleFlightLoader,
+	                                           HotKeyRedisReader hotKeyRedisReader, RedisBatchClient redisBatchClient) {
+		return new TwoLevelCache<>(CacheConstant.DISH_KEY_PREFIX, redisTemplate, properties, singleFlightLoader,
+				hotKeyRedisReader, redisBatchClient);
+	}
+
+	/**
+	 * 按分类缓存的套餐列表
+	 */
+	@Bean
+	public TwoLevelCache<List<Setmeal>> setmealCache(RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties,
+	                                                 SingleFlightLoader singleFlightLoader,
+	                                                 HotKeyRedisReader hotKeyRedisReader, RedisBatchClient redisBatchClient) {
+		return new TwoLevelCache<>(CacheConstant.SETMEAL_KEY_PREFIX, redisTemplate, properties, singleFlightLoader,
+				hotKeyRedisReader, redisBatchClient);
+	}
+
+	/**
+	 * 按套餐缓存的菜品明细
+	 */
+	@Bean
+	public TwoLevelCache<List<DishItemVO>> setmealDishCache(RedisTemplate<String, Object> redisTemplate, CatalogCacheProperties properties,
+	                                                        SingleFlightLoader singleFlightLoader,
+	                                                        HotKeyRedisReader hotKeyRedisReader, RedisBatchClient redisBatchClient) {
+		return new TwoLevelCache<>(CacheConstant.SETMEAL_DISH_KEY_PREFIX, redisTemplate, properties, singleFlightLoader,
+				hotKeyRedisReader, redisBatchClient);
+	}
+
+	/**
+	 * 订阅缓存失效频道，收到消息后清理本节点的本地缓存
+	 */
+	@Bean
+	public RedisMessageListenerContainer cacheEvictListenerContainer(RedisConnectionFactory redisConnectionFactory,
+	                                                                 List<TwoLevelCache<?>> caches,
+	                                                                 MenuSnapshotEngine menuSnapshotEngine,
+	                                                                 CatalogIdFilter catalogIdFilter,
+	                                                                 CategoryNameDictionary categoryNameDictionary,
+	                                                                 NameSearchIndex nameSearchIndex,
+	                                                                 MenuAutocomplete menuAutocomplete,
+	                                                                 PageCountCache pageCountCache,
+	                                                                 HotKeyRedisReader hotKeyRedisReader) {
+		log.info("注册缓存失效监听，缓存数量：{}", caches.size());
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(redisConnectionFactory);
+		ChannelTopic topic = new ChannelTopic(CacheConstant.EVICT_CHANNEL);
+		caches.forEach(cache -> container.addMessageListener(cache, topic));
+		container.addMessageListener(menuSnapshotEngine, topic);
+		container.addMessageListener(hotKeyRedisReader, topic);
+		container.addMessageListener(categoryNameDictionary, topic);
+		container.addMessageListener(catalogIdFilter, new ChannelTopic(CacheConstant.BLOOM_CHANNEL));
+		container.addMessageListener(nameSearchIndex, new ChannelTopic(CacheConstant.NAME_INDEX_CHANNEL));
+		container.addMessageListener(menuAutocomplete, new ChannelTopic(CacheConstant.AUTOCOMPLETE_CHANNEL));
+		container.addMessageListener(pageCountCache, new ChannelTopic(CacheConstant.PAGE_COUNT_CHANNEL));
+		return container;
+	}
+}
@@ -1,5 +1,10 @@
 package com.sky.config;
 
+import com.sky.cache.CompactRedisSerializer;
+import com.sky.cache.MybatisRedisCache;
+import com.sky.json.JacksonObjectMapper;
+import com.sky.properties.CatalogCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,7 +18,8 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 public class RedisConfig {
 
 	@Bean
-	public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+	public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+	                                                   CatalogCacheProperties properties, MeterRegistry meterRegistry) {
 		log.info("开始配置 RedisTemplate ...");
 		RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
 		redisTemplate.setConnectionFactory(redisConnectionFactory);
@@ -21,12 +27,21 @@ public class RedisConfig {
 		redisTemplate.setKeySerializer(new StringRedisSerializer());
 		// Hash 的 key 也采用 String 的序列化方式
 		redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-		// 使用 Jackson2JsonRedisSerializer 来序列化和反序列化 redis 的 value 值
-		// 其他的序列化方式还可以使用 GenericJackson2JsonRedisSerializer
-		redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-		// Hash 的 value 也采用 Jackson2JsonRedisSerializer 的序列化方式
-		redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+		// 使用 GenericJackson2JsonRedisSerializer 来序列化和反序列化 redis 的 value 值
+		// 基于项目的 JacksonObjectMapper，支持缓存实体中的 LocalDateTime 等时间类型
+		GenericJackson2JsonRedisSerializer legacySerializer = GenericJackson2JsonRedisSerializer.builder()
+				.objectMapper(new JacksonObjectMapper())
+				.defaultTyping(true)
+				.build();
+		// 菜单列表使用不含类型信息的紧凑格式，其他值以及旧数据仍由 GenericJackson2JsonRedisSerializer 处理
+		CompactRedisSerializer valueSerializer = new CompactRedisSerializer(legacySerializer,
+				properties.isCompactSerializer(), properties.getCompressThreshold(), meterRegistry);
+		redisTemplate.setValueSerializer(valueSerializer);
+		// Hash 的 value 也采用相同的序列化方式
+		redisTemplate.setHashValueSerializer(valueSerializer);
 		redisTemplate.afterPropertiesSet();
+		// MyBatis 二级缓存由 MyBatis 反射创建，无法注入，在这里设置
+		MybatisRedisCache.setRedisTemplate(redisTemplate);
 		log.info("RedisTemplate 配置成功!");
 		return redisTemplate;
 	}
@@ -0,0 +1,57 @@
+package com.sky.controller.admin;
+
+import com.sky.cache.CatalogCacheWarmer;
+import com.sky.cache.HotKeyDetector;
+import com.sky.result.Result;
+import com.sky.vo.HotKeyVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 缓存管理
+ */
+@RestController
+@RequestMapping("/admin/cache")
+@Slf4j
+@Tag(name = "缓存管理接口")
+public class CacheController {
+
+	private final HotKeyDetector hotKeyDetector;
+	private final CatalogCacheWarmer catalogCacheWarmer;
+
+	@Autowired
+	public CacheController(HotKeyDetector hotKeyDetector, CatalogCacheWarmer catalogCacheWarmer) {
+		this.hotKeyDetector = hotKeyDetector;
+		this.catalogCacheWarmer = catalogCacheWarmer;
+	}
+
+	/**
+	 * 查询当前节点已提升为本地副本的热点key
+	 * @return 热点key列表
+	 */
+	@GetMapping("/hot-keys")
+	@Operation(summary = "查询热点key")
+	public Result<List<HotKeyVO>> hotKeys() {
+		log.info("查询热点key");
+		return Result.success(hotKeyDetector.list());
+	}
+
+	/**
+	 * 预热菜单缓存，用于批量修改或批量清理缓存之后
+	 * @return 写入缓存的条目数
+	 */
+	@PostMapping("/warm-up")
+	@Operation(summary = "预热菜单缓存")
+	public Result<Integer> warmUp() {
+		log.info("预热菜单缓存");
+		return Result.success(catalogCacheWarmer.warmUp());
+	}
+}
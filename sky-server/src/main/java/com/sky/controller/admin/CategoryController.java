@@ -81,6 +81,19 @@ public class CategoryController {
         return Result.success();
     }
 
+    /**
+     * 调整分类排序
+     * @param ids 按新顺序排列的全部分类id
+     * @return 调整排序结果
+     */
+    @PutMapping("/sort")
+    @Operation(summary = "调整分类排序")
+    public Result<String> reorder(@RequestBody List<Long> ids){
+		log.info("调整分类排序：{}", ids);
+        categoryService.reorder(ids);
+        return Result.success();
+    }
+
     /**
      * 启用、禁用分类
      * @param status 1启用，0禁用
@@ -107,4 +120,18 @@ public class CategoryController {
         List<Category> list = categoryService.list(type);
         return Result.success(list);
     }
+
+	/**
+	 * 批量启用禁用分类
+	 * @param status 状态
+	 * @param ids 分类id集合
+	 * @return 操作结果
+	 */
+	@PostMapping("/status/{status}/batch")
+	@Operation(summary = "批量启用禁用分类")
+	public Result<Object> startOrStopBatch(@PathVariable Integer status, @RequestParam List<Long> ids) {
+		log.info("批量启用禁用分类：{}，{}", status, ids);
+		categoryService.startOrStopBatch(status, ids);
+		return Result.success();
+	}
 }
@@ -2,6 +2,7 @@ package com.sky.controller.admin;
 
 import com.sky.dto.DishDTO;
 import com.sky.dto.DishPageQueryDTO;
+import com.sky.dto.DishPriceDTO;
 import com.sky.entity.Dish;
 import com.sky.result.PageResult;
 import com.sky.result.Result;
@@ -106,6 +107,19 @@ public class DishController {
 		return Result.success(dishList);
 	}
 
+	/**
+	 * 批量调整菜品价格
+	 * @param dishPriceDTO 调价参数
+	 * @return 操作结果
+	 */
+	@PutMapping("/price")
+	@Operation(summary = "批量调整菜品价格")
+	public Result<Object> changePrice(@RequestBody DishPriceDTO dishPriceDTO) {
+		log.info("批量调整菜品价格: {}", dishPriceDTO);
+		dishService.changePrice(dishPriceDTO);
+		return Result.success();
+	}
+
 	/**
 	 * 菜品启售/停售
 	 * @param status 状态
@@ -119,4 +133,18 @@ public class DishController {
 		dishService.startOrStop(status, id);
 		return Result.success();
 	}
+
+	/**
+	 * 批量菜品启售/停售
+	 * @param status 状态
+	 * @param ids 菜品id集合
+	 * @return 操作结果
+	 */
+	@PostMapping("/status/{status}/batch")
+	@Operation(summary = "批量菜品启售/停售")
+	public Result<Object> startOrStopBatch(@PathVariable Integer status, @RequestParam List<Long> ids) {
+		log.info("批量菜品启售/停售: {}, {}", status, ids);
+		dishService.startOrStopBatch(status, ids);
+		return Result.success();
+	}
 }
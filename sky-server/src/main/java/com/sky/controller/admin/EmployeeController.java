@@ -18,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -139,4 +140,18 @@ public class EmployeeController {
 		employeeService.update(employeeDTO);
 		return Result.success();
 	}
+
+	/**
+	 * 批量启用或禁用员工账号
+	 * @param status 状态
+	 * @param ids 员工ID集合
+	 * @return 操作结果
+	 */
+	@PostMapping("/status/{status}/batch")
+	@Operation(summary = "批量启用或禁用员工账号")
+	public Result<Object> startOrStopBatch(@PathVariable Integer status, @RequestParam List<Long> ids) {
+		log.info("批量启用或禁用员工账号：{}, {}", status, ids);
+		employeeService.startOrStopBatch(status, ids);
+		return Result.success();
+	}
 }
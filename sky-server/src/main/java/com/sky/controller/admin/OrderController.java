@@ -0,0 +1,41 @@
+package com.sky.controller.admin;
+
+import com.sky.dto.OrdersPageQueryDTO;
+import com.sky.result.CursorPageResult;
+import com.sky.result.Result;
+import com.sky.service.OrderService;
+import com.sky.vo.OrderVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/order")
+@Slf4j
+@Tag(name = "订单管理接口")
+public class OrderController {
+
+	private final OrderService orderService;
+
+	@Autowired
+	public OrderController(OrderService orderService) {
+		this.orderService = orderService;
+	}
+
+	/**
+	 * 订单搜索
+	 * @param ordersPageQueryDTO 查询条件，翻页时传入上一页返回的游标
+	 * @return 订单列表和下一页游标
+	 */
+	@GetMapping("/conditionSearch")
+	@Operation(summary = "订单搜索")
+	public Result<CursorPageResult<OrderVO>> conditionSearch(OrdersPageQueryDTO ordersPageQueryDTO) {
+		log.info("订单搜索: {}", ordersPageQueryDTO);
+		CursorPageResult<OrderVO> pageResult = orderService.conditionSearch(ordersPageQueryDTO);
+		return Result.success(pageResult);
+	}
+}
@@ -105,4 +105,18 @@ public class SetmealController {
 		setmealService.startOrStop(status, id);
 		return Result.success();
 	}
+
+	/**
+	 * 批量套餐启售/停售
+	 * @param status 状态
+	 * @param ids 套餐id集合
+	 * @return 操作结果
+	 */
+	@PostMapping("/status/{status}/batch")
+	@Operation(summary = "批量套餐启售/停售")
+	public Result<Object> startOrStopBatch(@PathVariable Integer status, @RequestParam List<Long> ids) {
+		log.info("批量套餐启售/停售: {}, {}", status, ids);
+		setmealService.startOrStopBatch(status, ids);
+		return Result.success();
+	}
 }
@@ -1,5 +1,6 @@
 package com.sky.controller.admin;
 
+import com.sky.cache.HotKeyRedisReader;
 import com.sky.result.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,10 +18,12 @@ public class ShopController {
 	public static final String SHOP_STATUS_KEY = "SHOP_STATUS";
 
 	private final RedisTemplate<String,Object> redisTemplate;
+	private final HotKeyRedisReader hotKeyRedisReader;
 
 	@Autowired
-	public ShopController(RedisTemplate<String, Object> redisTemplate) {
+	public ShopController(RedisTemplate<String, Object> redisTemplate, HotKeyRedisReader hotKeyRedisReader) {
 		this.redisTemplate = redisTemplate;
+		this.hotKeyRedisReader = hotKeyRedisReader;
 	}
 
 	/**
@@ -33,6 +36,8 @@ public class ShopController {
 	public Result<Object> set(@PathVariable Integer status) {
 		log.info("店铺营业状态设置: {}", status == 1 ? "营业中" : "打烊中");
 		redisTemplate.opsForValue().set(SHOP_STATUS_KEY, status);
+		// 营业状态是热点key，清理各节点的本地副本
+		hotKeyRedisReader.invalidate(SHOP_STATUS_KEY);
 		return Result.success();
 	}
 
@@ -43,7 +48,7 @@ public class ShopController {
 	@GetMapping("/status")
 	@Operation(summary = "查询店铺营业状态")
 	public Result<Integer> getStatus() {
-		Integer status = (Integer) redisTemplate.opsForValue().get(SHOP_STATUS_KEY);
+		Integer status = (Integer) hotKeyRedisReader.get(SHOP_STATUS_KEY);
 		if (status != null) {
 			log.info("查询到店铺营业状态：{}", status.equals(1) ? "营业中" : "打烊中");
 		}
@@ -0,0 +1,68 @@
+package com.sky.controller.user;
+
+import com.sky.entity.Dish;
+import com.sky.result.Result;
+import com.sky.service.DishService;
+import com.sky.vo.DishVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController("userDishController")
+@RequestMapping("/user/dish")
+@Slf4j
+@Tag(name = "C端-菜品浏览接口")
+public class DishController {
+
+	private final DishService dishService;
+
+	@Autowired
+	public DishController(DishService dishService) {
+		this.dishService = dishService;
+	}
+
+	/**
+	 * 根据分类ID查询启售菜品
+	 * @param categoryId 分类ID
+	 * @return 菜品列表
+	 */
+	@GetMapping("/list")
+	@Operation(summary = "根据分类ID查询菜品")
+	public Result<List<Dish>> list(Long categoryId) {
+		log.info("根据分类ID查询菜品: {}", categoryId);
+		List<Dish> dishList = dishService.list(categoryId);
+		return Result.success(dishList);
+	}
+
+	/**
+	 * 根据分类ID查询启售菜品及口味
+	 * @param categoryId 分类ID
+	 * @return 菜品和口味列表
+	 */
+	@GetMapping("/list/flavor")
+	@Operation(summary = "根据分类ID查询菜品及口味")
+	public Result<List<DishVO>> listWithFlavor(Long categoryId) {
+		log.info("根据分类ID查询菜品及口味: {}", categoryId);
+		return Result.success(dishService.listWithFlavor(categoryId));
+	}
+
+	/**
+	 * 根据多个分类ID批量查询启售菜品
+	 * @param categoryIds 分类ID集合
+	 * @return 分类ID与菜品列表
+	 */
+	@GetMapping("/batch")
+	@Operation(summary = "根据多个分类ID批量查询菜品")
+	public Result<Map<Long, List<Dish>>> batch(@RequestParam List<Long> categoryIds) {
+		log.info("根据多个分类ID批量查询菜品: {}", categoryIds);
+		return Result.success(dishService.listByCategoryIds(categoryIds));
+	}
+}
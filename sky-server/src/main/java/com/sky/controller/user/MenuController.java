@@ -0,0 +1,78 @@
+package com.sky.controller.user;
+
+import com.sky.cache.MenuSnapshot;
+import com.sky.cache.MenuSnapshotEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController("userMenuController")
+@RequestMapping("/user/menu")
+@Slf4j
+@Tag(name = "C端-菜单接口")
+public class MenuController {
+
+	private static final String MENU_VERSION_HEADER = "X-Menu-Version";
+	private static final String GZIP = "gzip";
+
+	private final MenuSnapshotEngine menuSnapshotEngine;
+
+	@Autowired
+	public MenuController(MenuSnapshotEngine menuSnapshotEngine) {
+		this.menuSnapshotEngine = menuSnapshotEngine;
+	}
+
+	/**
+	 * 查询完整菜单，直接输出预先序列化的快照，内容未变化时返回 304
+	 * @param ifNoneMatch 客户端缓存的 ETag
+	 * @param acceptEncoding 客户端支持的压缩方式
+	 * @return 菜单 JSON，结构为 Result&lt;MenuVO&gt;
+	 */
+	@GetMapping
+	@Operation(summary = "查询完整菜单")
+	public ResponseEntity<byte[]> menu(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+	                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		MenuSnapshot snapshot = menuSnapshotEngine.get();
+		if (matches(ifNoneMatch, snapshot.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(snapshot.etag())
+					.header(MENU_VERSION_HEADER, String.valueOf(snapshot.version()))
+					.build();
+		}
+		boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.eTag(snapshot.etag())
+				.header(MENU_VERSION_HEADER, String.valueOf(snapshot.version()))
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(snapshot.gzipBody());
+		}
+		return builder.body(snapshot.body());
+	}
+
+	private static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,45 @@
+package com.sky.controller.user;
+
+import com.sky.cache.MenuAutocomplete;
+import com.sky.result.Result;
+import com.sky.vo.SearchSuggestionVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController("userSearchController")
+@RequestMapping("/user/search")
+@Slf4j
+@Tag(name = "C端-菜单搜索接口")
+public class SearchController {
+
+	private static final int MAX_LIMIT = 20;
+
+	private final MenuAutocomplete menuAutocomplete;
+
+	@Autowired
+	public SearchController(MenuAutocomplete menuAutocomplete) {
+		this.menuAutocomplete = menuAutocomplete;
+	}
+
+	/**
+	 * 搜索联想，按输入前缀匹配启售菜品和套餐的名称、全拼或拼音首字母
+	 * @param keyword 用户输入
+	 * @param limit 返回数量，最多 20 个
+	 * @return 按销量从高到低排列的联想结果
+	 */
+	@GetMapping("/suggest")
+	@Operation(summary = "搜索联想")
+	public Result<List<SearchSuggestionVO>> suggest(@RequestParam String keyword,
+	                                                @RequestParam(defaultValue = "10") Integer limit) {
+		log.debug("搜索联想：{}", keyword);
+		return Result.success(menuAutocomplete.suggest(keyword, Math.min(limit, MAX_LIMIT)));
+	}
+}
@@ -0,0 +1,70 @@
+package com.sky.controller.user;
+
+import com.sky.entity.Setmeal;
+import com.sky.result.Result;
+import com.sky.service.SetmealService;
+import com.sky.vo.DishItemVO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController("userSetmealController")
+@RequestMapping("/user/setmeal")
+@Slf4j
+@Tag(name = "C端-套餐浏览接口")
+public class SetmealController {
+
+	private final SetmealService setmealService;
+
+	@Autowired
+	public SetmealController(SetmealService setmealService) {
+		this.setmealService = setmealService;
+	}
+
+	/**
+	 * 根据分类id查询启售套餐
+	 * @param categoryId 分类id
+	 * @return 套餐列表
+	 */
+	@GetMapping("/list")
+	@Operation(summary = "根据分类id查询套餐")
+	public Result<List<Setmeal>> list(Long categoryId) {
+		log.info("根据分类id查询套餐: {}", categoryId);
+		List<Setmeal> list = setmealService.list(categoryId);
+		return Result.success(list);
+	}
+
+	/**
+	 * 根据套餐id查询包含的菜品
+	 * @param id 套餐id
+	 * @return 菜品明细列表
+	 */
+	@GetMapping("/dish/{id}")
+	@Operation(summary = "根据套餐id查询包含的菜品")
+	public Result<List<DishItemVO>> dishList(@PathVariable("id") Long id) {
+		log.info("根据套餐id查询包含的菜品: {}", id);
+		List<DishItemVO> list = setmealService.getDishItemById(id);
+		return Result.success(list);
+	}
+
+	/**
+	 * 根据多个套餐id批量查询包含的菜品
+	 * @param ids 套餐id集合
+	 * @return 套餐id与菜品明细列表
+	 */
+	@GetMapping("/dish/batch")
+	@Operation(summary = "根据多个套餐id批量查询包含的菜品")
+	public Result<Map<Long, List<DishItemVO>>> dishBatch(@RequestParam List<Long> ids) {
+		log.info("根据多个套餐id批量查询包含的菜品: {}", ids);
+		return Result.success(setmealService.getDishItemByIds(ids));
+	}
+}
@@ -1,11 +1,11 @@
 package com.sky.controller.user;
 
+import com.sky.cache.HotKeyRedisReader;
 import com.sky.result.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.bind.annotation.*;
 
 @RestController("userShopController")
@@ -16,11 +16,11 @@ public class ShopController {
 
 	public static final String SHOP_STATUS_KEY = "SHOP_STATUS";
 
-	private final RedisTemplate<String,Object> redisTemplate;
+	private final HotKeyRedisReader hotKeyRedisReader;
 
 	@Autowired
-	public ShopController(RedisTemplate<String, Object> redisTemplate) {
-		this.redisTemplate = redisTemplate;
+	public ShopController(HotKeyRedisReader hotKeyRedisReader) {
+		this.hotKeyRedisReader = hotKeyRedisReader;
 	}
 
 	/**
@@ -30,7 +30,7 @@ public class ShopController {
 	@GetMapping("/status")
 	@Operation(summary = "查询店铺营业状态")
 	public Result<Integer> getStatus() {
-		Integer status = (Integer) redisTemplate.opsForValue().get(SHOP_STATUS_KEY);
+		Integer status = (Integer) hotKeyRedisReader.get(SHOP_STATUS_KEY);
 		if (status != null) {
 			log.info("查询到店铺营业状态：{}", status.equals(1) ? "营业中" : "打烊中");
 		}
@@ -2,15 +2,21 @@ package com.sky.mapper;
 
 import com.github.pagehelper.Page;
 import com.sky.annotation.AutoFill;
+import com.sky.annotation.CatalogIdChange;
 import com.sky.dto.CategoryPageQueryDTO;
 import com.sky.entity.Category;
+import com.sky.enumeration.CatalogType;
 import com.sky.enumeration.OperationType;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
 import java.util.List;
 
 @Mapper
+@CacheNamespaceRef(CategoryMapper.class)
 public interface CategoryMapper {
 
     /**
@@ -20,21 +26,25 @@ public interface CategoryMapper {
     @Insert("insert into category(type, name, sort, status, create_time, update_time, create_user, update_user)" +
             " VALUES" +
             " (#{type}, #{name}, #{sort}, #{status}, #{createTime}, #{updateTime}, #{createUser}, #{updateUser})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
     @AutoFill(value = OperationType.INSERT)
+    @CatalogIdChange(type = CatalogType.CATEGORY, value = OperationType.INSERT)
     void insert(Category category);
 
     /**
      * 分页查询
      * @param categoryPageQueryDTO 分页查询参数
+     * @param ids 名称检索索引匹配的分类id，不为空时代替名称模糊查询
      * @return 分页查询结果
      */
-    Page<Category> pageQuery(CategoryPageQueryDTO categoryPageQueryDTO);
+    Page<Category> pageQuery(CategoryPageQueryDTO categoryPageQueryDTO, List<Long> ids);
 
     /**
      * 根据id删除分类
      * @param id 分类id
      */
     @Delete("delete from category where id = #{id}")
+    @CatalogIdChange(type = CatalogType.CATEGORY, value = OperationType.DELETE)
     void deleteById(Long id);
 
     /**
@@ -44,10 +54,42 @@ public interface CategoryMapper {
 	@AutoFill(value = OperationType.UPDATE)
     void update(Category category);
 
+    /**
+     * 按id在列表中的位置批量设置分类排序，从 1 开始
+     * @param category 自动填充的更新时间和更新人
+     * @param ids 按新顺序排列的分类id
+     */
+	@AutoFill(value = OperationType.UPDATE)
+    void updateSort(Category category, List<Long> ids);
+
+    /**
+     * 批量修改分类状态
+     * @param category 分类状态，以及自动填充的更新时间和更新人
+     * @param ids 分类id集合
+     */
+	@AutoFill(value = OperationType.UPDATE)
+    void updateStatusByIds(Category category, List<Long> ids);
+
     /**
      * 根据类型查询分类
      * @param type 类型
      * @return 分类列表
      */
     List<Category> list(Integer type);
+
+    /**
+     * 查询所有分类id
+     * @return 分类id列表
+     */
+    @Select("select id from category")
+    @Options(useCache = false)
+    List<Long> listIds();
+
+    /**
+     * 查询所有分类的id和名称，用于分类名称字典
+     * @return 分类列表，只包含id和名称
+     */
+    @Select("select id, name from category")
+    @Options(useCache = false)
+    List<Category> listIdAndName();
 }
@@ -1,13 +1,16 @@
 package com.sky.mapper;
 
 import com.sky.entity.DishFlavor;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 
 @Mapper
+@CacheNamespaceRef(DishFlavorMapper.class)
 public interface DishFlavorMapper {
 	/**
 	 * 批量插入口味数据
@@ -15,6 +18,18 @@ public interface DishFlavorMapper {
 	 */
 	void insertBatch(List<DishFlavor> flavors);
 
+	/**
+	 * 批量修改口味数据，按主键更新名称和口味数据
+	 * @param flavors 口味列表
+	 */
+	void updateBatch(List<DishFlavor> flavors);
+
+	/**
+	 * 根据主键批量删除口味数据
+	 * @param ids 口味id集合
+	 */
+	void deleteByIds(List<Long> ids);
+
 	/**
 	 * 根据菜品id删除对应的口味数据
 	 * @param dishId 菜品id
@@ -22,11 +37,41 @@ public interface DishFlavorMapper {
 	@Delete("delete from dish_flavor where dish_id = #{dishId}")
 	void deleteByDishId(Long dishId);
 
+	/**
+	 * 根据多个菜品id批量删除对应的口味数据
+	 * @param dishIds 菜品id集合
+	 */
+	void deleteByDishIds(List<Long> dishIds);
+
 	/**
 	 * 根据菜品id查询对应的口味数据
 	 * @param dishId 菜品id
 	 * @return 口味列表
 	 */
-	@Select("select * from dish_flavor where dish_id = #{dishId}")
+	@Select("select id, dish_id, name, value from dish_flavor where dish_id = #{dishId}")
 	List<DishFlavor> getByDishId(Long dishId);
+
+	/**
+	 * 根据菜品id查询并锁定对应的口味数据，用于修改时比较，不走二级缓存
+	 * @param dishId 菜品id
+	 * @return 口味列表
+	 */
+	@Select("select id, dish_id, name, value from dish_flavor where dish_id = #{dishId} for update")
+	@Options(useCache = false)
+	List<DishFlavor> getByDishIdForUpdate(Long dishId);
+
+	/**
+	 * 根据多个菜品id批量查询口味数据
+	 * @param dishIds 菜品id集合
+	 * @return 口味列表
+	 */
+	List<DishFlavor> getByDishIds(List<Long> dishIds);
+
+	/**
+	 * 查询所有启售菜品的口味数据
+	 * @return 口味列表
+	 */
+	@Select("select df.id, df.dish_id, df.name, df.value from dish_flavor df join dish d on df.dish_id = d.id where d.status = 1")
+	@Options(useCache = false)
+	List<DishFlavor> listOfEnabledDish();
 }
@@ -2,25 +2,32 @@ package com.sky.mapper;
 
 import com.github.pagehelper.Page;
 import com.sky.annotation.AutoFill;
+import com.sky.annotation.CatalogIdChange;
 import com.sky.dto.DishPageQueryDTO;
+import com.sky.dto.DishPriceDTO;
 import com.sky.entity.Dish;
+import com.sky.enumeration.CatalogType;
 import com.sky.enumeration.OperationType;
 import com.sky.vo.DishVO;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 
 @Mapper
+@CacheNamespaceRef(DishMapper.class)
 public interface DishMapper {
 
     /**
-     * 根据分类id查询菜品数量
+     * 根据分类id查询菜品数量，用于删除分类前的校验，不走二级缓存
      * @param categoryId 分类id
      * @return 菜品数量
      */
     @Select("select count(id) from dish where category_id = #{categoryId}")
+    @Options(useCache = false)
     Integer countByCategoryId(Long categoryId);
 
 	/**
@@ -28,21 +35,23 @@ public interface DishMapper {
 	 * @param dish 菜品信息
 	 */
 	@AutoFill(value = OperationType.INSERT)
+	@CatalogIdChange(type = CatalogType.DISH, value = OperationType.INSERT)
 	void insert(Dish dish);
 
 	/**
 	 * 菜品分页查询
 	 * @param dishPageQueryDTO 分页查询参数
+	 * @param ids 名称检索索引匹配的菜品id，不为空时代替名称模糊查询
 	 * @return 分页结果
 	 */
-	Page<DishVO> pageQuery(DishPageQueryDTO dishPageQueryDTO);
+	Page<DishVO> pageQuery(DishPageQueryDTO dishPageQueryDTO, List<Long> ids);
 
 	/**
 	 * 根据id查询菜品信息
 	 * @param id 菜品id
 	 * @return 菜品信息
 	 */
-	@Select("select * from dish where id = #{id}")
+	@Select("select id, name, category_id, price, image, description, status, update_time from dish where id = #{id}")
 	Dish getById(Long id);
 
 	/**
@@ -50,8 +59,59 @@ public interface DishMapper {
 	 * @param id 菜品id
 	 */
 	@Delete("delete from dish where id = #{id}")
+	@CatalogIdChange(type = CatalogType.DISH, value = OperationType.DELETE)
 	void deleteById(Long id);
 
+	/**
+	 * 批量调整菜品价格，按分类或菜品id筛选，调价后的价格不低于 0
+	 * @param dish 自动填充的更新时间和更新人
+	 * @param dishPriceDTO 调价参数
+	 * @param ids 本批菜品id，按分类调价时为空
+	 */
+	@AutoFill(OperationType.UPDATE)
+	void updatePrice(Dish dish, DishPriceDTO dishPriceDTO, List<Long> ids);
+
+	/**
+	 * 判断套餐包含的菜品中是否存在处于某一状态的菜品
+	 * @param setmealId 套餐id
+	 * @param status 菜品状态
+	 * @return 是否存在
+	 */
+	@Select("select exists(select 1 from setmeal_dish sd join dish d on sd.dish_id = d.id " +
+			"where sd.setmeal_id = #{setmealId} and d.status = #{status})")
+	@Options(useCache = false)
+	boolean existsBySetmealIdAndStatus(Long setmealId, Integer status);
+
+	/**
+	 * 判断多个套餐包含的菜品中是否存在处于某一状态的菜品
+	 * @param setmealIds 套餐id集合
+	 * @param status 菜品状态
+	 * @return 是否存在
+	 */
+	boolean existsBySetmealIdsAndStatus(List<Long> setmealIds, Integer status);
+
+	/**
+	 * 统计指定id中处于某一状态的菜品数量
+	 * @param ids 菜品id集合
+	 * @param status 菜品状态
+	 * @return 菜品数量
+	 */
+	Integer countByIdsAndStatus(List<Long> ids, Integer status);
+
+	/**
+	 * 查询指定菜品所属的分类id
+	 * @param ids 菜品id集合
+	 * @return 分类id列表
+	 */
+	List<Long> getCategoryIdsByIds(List<Long> ids);
+
+	/**
+	 * 根据id批量删除菜品
+	 * @param ids 菜品id集合
+	 */
+	@CatalogIdChange(type = CatalogType.DISH, value = OperationType.DELETE)
+	void deleteByIds(List<Long> ids);
+
 	/**
 	 * 修改菜品信息
 	 * @param dish 菜品信息
@@ -59,6 +119,14 @@ public interface DishMapper {
 	@AutoFill(OperationType.UPDATE)
 	void update(Dish dish);
 
+	/**
+	 * 批量修改菜品状态
+	 * @param dish 菜品状态，以及自动填充的更新时间和更新人
+	 * @param ids 菜品id集合
+	 */
+	@AutoFill(OperationType.UPDATE)
+	void updateStatusByIds(Dish dish, List<Long> ids);
+
 	/**
 	 * 动态查询菜品列表
 	 * @param dish 查询条件
@@ -66,11 +134,42 @@ public interface DishMapper {
 	 */
 	List<Dish> list(Dish dish);
 
+	/**
+	 * 根据id集合查询菜品，只包含列表展示需要的列
+	 * @param ids 菜品id集合
+	 * @return 菜品列表
+	 */
+	List<Dish> getByIds(List<Long> ids);
+
+	/**
+	 * 根据多个分类id批量查询菜品，只包含列表展示需要的列
+	 * @param categoryIds 分类id集合
+	 * @param status 菜品状态
+	 * @return 菜品列表
+	 */
+	List<Dish> listByCategoryIds(List<Long> categoryIds, Integer status);
+
 	/**
 	 * 根据套餐id查询对应的菜品信息
 	 * @param setmealId 套餐id
 	 * @return 菜品信息列表
 	 */
-	@Select("select d.* from dish d left join setmeal_dish sd on d.id = sd.dish_id where sd.setmeal_id = #{setmealId}")
+	@Select("select d.id, d.name, d.category_id, d.price, d.image, d.description, d.status from dish d left join setmeal_dish sd on d.id = sd.dish_id where sd.setmeal_id = #{setmealId}")
 	List<Dish> getBySetmealId(Long setmealId);
+
+	/**
+	 * 查询所有菜品id
+	 * @return 菜品id列表
+	 */
+	@Select("select id from dish")
+	@Options(useCache = false)
+	List<Long> listIds();
+
+	/**
+	 * 查询所有菜品的id和名称，用于名称检索索引
+	 * @return 菜品列表，只包含id和名称
+	 */
+	@Select("select id, name from dish")
+	@Options(useCache = false)
+	List<Dish> listIdAndName();
 }
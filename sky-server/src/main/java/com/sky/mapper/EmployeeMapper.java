@@ -7,15 +7,18 @@ import com.sky.entity.Employee;
 import com.sky.enumeration.OperationType;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
 public interface EmployeeMapper {
 
     /**
      * 根据用户名查询员工
      */
-    @Select("select * from employee where username = #{username}")
+    @Select("select id, username, name, password, status from employee where username = #{username}")
     Employee getByUsername(String username);
 
 	/**
@@ -25,15 +28,17 @@ public interface EmployeeMapper {
 	@Insert("insert into employee (name, username, password, phone, sex, id_number, status, create_time, update_time, create_user, update_user)" +
 			"values" +
 			"(#{name}, #{username}, #{password},#{phone}, #{sex}, #{idNumber}, #{status}, #{createTime}, #{updateTime}, #{createUser}, #{updateUser})")
+	@Options(useGeneratedKeys = true, keyProperty = "id")
 	@AutoFill(value = OperationType.INSERT)
 	void insert(Employee employee);
 
 	/**
 	 * 员工信息分页查询
 	 * @param employeePageQueryDTO 分页查询参数
+	 * @param ids 名称检索索引匹配的员工id，不为空时代替名称模糊查询
 	 * @return 分页查询结果
 	 */
-	Page<Employee> pageQuery(EmployeePageQueryDTO employeePageQueryDTO);
+	Page<Employee> pageQuery(EmployeePageQueryDTO employeePageQueryDTO, List<Long> ids);
 
 	/**
 	 * 更新员工信息
@@ -42,11 +47,26 @@ public interface EmployeeMapper {
 	@AutoFill(value = OperationType.UPDATE)
 	void update(Employee employee);
 
+	/**
+	 * 批量修改员工账号状态
+	 * @param employee 员工状态，以及自动填充的更新时间和更新人
+	 * @param ids 员工ID集合
+	 */
+	@AutoFill(value = OperationType.UPDATE)
+	void updateStatusByIds(Employee employee, List<Long> ids);
+
 	/**
 	 * 根据ID查询员工信息
 	 * @param id 员工ID
 	 * @return 员工信息
 	 */
-	@Select("select * from employee where id = #{id}")
+	@Select("select id, username, name, phone, sex, id_number, status from employee where id = #{id}")
 	Employee getById(Long id);
+
+	/**
+	 * 查询所有员工的id和姓名，用于名称检索索引
+	 * @return 员工列表，只包含id和姓名
+	 */
+	@Select("select id, name from employee")
+	List<Employee> listIdAndName();
 }
@@ -0,0 +1,32 @@
+package com.sky.mapper;
+
+import com.sky.entity.OrderDetail;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface OrderDetailMapper {
+
+	/**
+	 * 统计每个菜品的累计销量
+	 * @return 订单明细列表，只包含菜品id和销量
+	 */
+	@Select("select dish_id, sum(number) as number from order_detail where dish_id is not null group by dish_id")
+	List<OrderDetail> sumNumberByDish();
+
+	/**
+	 * 统计每个套餐的累计销量
+	 * @return 订单明细列表，只包含套餐id和销量
+	 */
+	@Select("select setmeal_id, sum(number) as number from order_detail where setmeal_id is not null group by setmeal_id")
+	List<OrderDetail> sumNumberBySetmeal();
+
+	/**
+	 * 根据订单id集合批量查询订单明细
+	 * @param orderIds 订单id集合
+	 * @return 订单明细列表
+	 */
+	List<OrderDetail> getByOrderIds(List<Long> orderIds);
+}
@@ -0,0 +1,30 @@
+package com.sky.mapper;
+
+import com.sky.dto.OrdersPageQueryDTO;
+import com.sky.entity.Orders;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface OrderMapper {
+
+	/**
+	 * 按 (下单时间, id) 倒序的游标分页查询，从游标位置之后开始读取，不使用 offset
+	 * @param ordersPageQueryDTO 查询条件
+	 * @param orderTime 游标位置的下单时间，为空表示第一页
+	 * @param id 游标位置的订单id
+	 * @param limit 读取条数
+	 * @return 订单列表
+	 */
+	List<Orders> pageQueryAfter(OrdersPageQueryDTO ordersPageQueryDTO, LocalDateTime orderTime, Long id, int limit);
+
+	/**
+	 * 统计满足条件的订单数量
+	 * @param ordersPageQueryDTO 查询条件
+	 * @return 订单数量
+	 */
+	long countByCondition(@Param("ordersPageQueryDTO") OrdersPageQueryDTO ordersPageQueryDTO);
+}
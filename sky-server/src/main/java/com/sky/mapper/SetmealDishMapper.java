@@ -1,13 +1,16 @@
 package com.sky.mapper;
 
 import com.sky.entity.SetmealDish;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 
 import java.util.List;
 
 @Mapper
+@CacheNamespaceRef(SetmealDishMapper.class)
 public interface SetmealDishMapper {
 
 	/**
@@ -23,6 +26,25 @@ public interface SetmealDishMapper {
 	 */
 	void insertBatch(List<SetmealDish> setmealDishes);
 
+	/**
+	 * 批量修改套餐和菜品的关联关系，按主键更新菜品名称、价格和份数
+	 * @param setmealDishes 套餐菜品关联列表
+	 */
+	void updateBatch(List<SetmealDish> setmealDishes);
+
+	/**
+	 * 将菜品当前的名称和价格同步到套餐菜品关联关系中冗余的副本
+	 * @param categoryId 菜品分类id，按菜品id同步时为空
+	 * @param dishIds 菜品id集合，按分类同步时为空
+	 */
+	void syncDishCopies(Long categoryId, List<Long> dishIds);
+
+	/**
+	 * 根据主键批量删除套餐和菜品的关联关系
+	 * @param ids 关联关系id集合
+	 */
+	void deleteByIds(List<Long> ids);
+
 	/**
 	 * 根据套餐id删除对应的套餐和菜品的关联关系
 	 * @param setmealId 套餐id
@@ -30,19 +52,35 @@ public interface SetmealDishMapper {
 	@Delete("delete from setmeal_dish where setmeal_id = #{setmealId}")
 	void deleteBySetmealId(Long setmealId);
 
+	/**
+	 * 根据多个套餐id批量删除套餐和菜品的关联关系
+	 * @param setmealIds 套餐id集合
+	 */
+	void deleteBySetmealIds(List<Long> setmealIds);
+
 	/**
 	 * 根据套餐id查询对应的菜品信息
 	 * @param setmealId 套餐id
 	 * @return 菜品信息列表
 	 */
-	@Select("select * from setmeal_dish where setmeal_id = #{setmealId}")
+	@Select("select id, setmeal_id, dish_id, name, price, copies from setmeal_dish where setmeal_id = #{setmealId}")
 	List<SetmealDish> getBySetmealId(Long setmealId);
 
 	/**
-	 * 根据菜品id查询对应的套餐id
+	 * 根据套餐id查询并锁定对应的菜品信息，用于修改时比较，不走二级缓存
+	 * @param setmealId 套餐id
+	 * @return 菜品信息列表
+	 */
+	@Select("select id, setmeal_id, dish_id, name, price, copies from setmeal_dish where setmeal_id = #{setmealId} for update")
+	@Options(useCache = false)
+	List<SetmealDish> getBySetmealIdForUpdate(Long setmealId);
+
+	/**
+	 * 根据菜品id查询对应的套餐id，用于修改后清理套餐缓存，不走二级缓存
 	 * @param id 菜品id
 	 * @return 套餐id列表
 	 */
 	@Select("select setmeal_id from setmeal_dish where dish_id = #{id}")
+	@Options(useCache = false)
 	List<Long> getSetmealIdsByDishId(Long id);
 }
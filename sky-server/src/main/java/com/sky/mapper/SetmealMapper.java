@@ -2,23 +2,32 @@ package com.sky.mapper;
 
 import com.github.pagehelper.Page;
 import com.sky.annotation.AutoFill;
+import com.sky.annotation.CatalogIdChange;
 import com.sky.dto.SetmealPageQueryDTO;
 import com.sky.entity.Setmeal;
+import com.sky.enumeration.CatalogType;
 import com.sky.enumeration.OperationType;
+import com.sky.vo.DishItemVO;
 import com.sky.vo.SetmealVO;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 @Mapper
+@CacheNamespaceRef(SetmealMapper.class)
 public interface SetmealMapper {
 
     /**
-     * 根据分类id查询套餐的数量
+     * 根据分类id查询套餐的数量，用于删除分类前的校验，不走二级缓存
      * @param id 分类id
      * @return 套餐的数量
      */
     @Select("select count(id) from setmeal where category_id = #{categoryId}")
+    @Options(useCache = false)
     Integer countByCategoryId(Long id);
 
 	/**
@@ -26,21 +35,23 @@ public interface SetmealMapper {
 	 * @param setmeal 套餐信息
 	 */
 	@AutoFill(value = OperationType.INSERT)
+	@CatalogIdChange(type = CatalogType.SETMEAL, value = OperationType.INSERT)
 	void insert(Setmeal setmeal);
 
 	/**
 	 * 套餐分页查询
 	 * @param setmealPageQueryDTO 分页查询参数
+	 * @param ids 名称检索索引匹配的套餐id，不为空时代替名称模糊查询
 	 * @return 分页结果
 	 */
-	Page<SetmealVO> pageQuery(SetmealPageQueryDTO setmealPageQueryDTO);
+	Page<SetmealVO> pageQuery(SetmealPageQueryDTO setmealPageQueryDTO, List<Long> ids);
 
 	/**
 	 * 根据id查询套餐信息
 	 * @param id 套餐id
 	 * @return 套餐信息
 	 */
-	@Select("select * from setmeal where id = #{id}")
+	@Select("select id, category_id, name, price, status, description, image, update_time from setmeal where id = #{id}")
 	Setmeal getById(Long id);
 
 	/**
@@ -48,12 +59,109 @@ public interface SetmealMapper {
 	 * @param setmealId 套餐id
 	 */
 	@Delete("delete from setmeal where id = #{setmealId}")
+	@CatalogIdChange(type = CatalogType.SETMEAL, value = OperationType.DELETE)
 	void deleteById(Long setmealId);
 
+	/**
+	 * 判断包含指定菜品的套餐中是否存在处于某一状态的套餐
+	 * @param dishId 菜品id
+	 * @param status 套餐状态
+	 * @return 是否存在
+	 */
+	@Select("select exists(select 1 from setmeal_dish sd join setmeal s on sd.setmeal_id = s.id " +
+			"where sd.dish_id = #{dishId} and s.status = #{status})")
+	@Options(useCache = false)
+	boolean existsByDishIdAndStatus(Long dishId, Integer status);
+
+	/**
+	 * 判断包含多个菜品中任意一个的套餐中是否存在处于某一状态的套餐
+	 * @param dishIds 菜品id集合
+	 * @param status 套餐状态
+	 * @return 是否存在
+	 */
+	boolean existsByDishIdsAndStatus(List<Long> dishIds, Integer status);
+
+	/**
+	 * 查询指定套餐所属的分类id
+	 * @param ids 套餐id集合
+	 * @return 分类id列表
+	 */
+	List<Long> getCategoryIdsByIds(List<Long> ids);
+
+	/**
+	 * 统计指定id中处于某一状态的套餐数量
+	 * @param ids 套餐id集合
+	 * @param status 套餐状态
+	 * @return 套餐数量
+	 */
+	Integer countByIdsAndStatus(List<Long> ids, Integer status);
+
+	/**
+	 * 根据id批量删除套餐
+	 * @param ids 套餐id集合
+	 */
+	@CatalogIdChange(type = CatalogType.SETMEAL, value = OperationType.DELETE)
+	void deleteByIds(List<Long> ids);
+
 	/**
 	 * 修改套餐信息
 	 * @param setmeal 套餐信息
 	 */
 	@AutoFill(value = OperationType.UPDATE)
 	void update(Setmeal setmeal);
+
+	/**
+	 * 批量修改套餐状态
+	 * @param setmeal 套餐状态，以及自动填充的更新时间和更新人
+	 * @param ids 套餐id集合
+	 */
+	@AutoFill(value = OperationType.UPDATE)
+	void updateStatusByIds(Setmeal setmeal, List<Long> ids);
+
+	/**
+	 * 动态查询套餐列表
+	 * @param setmeal 查询条件
+	 * @return 套餐列表
+	 */
+	List<Setmeal> list(Setmeal setmeal);
+
+	/**
+	 * 根据id集合查询套餐，只包含列表展示需要的列
+	 * @param ids 套餐id集合
+	 * @return 套餐列表
+	 */
+	List<Setmeal> getByIds(List<Long> ids);
+
+	/**
+	 * 根据套餐id查询包含的菜品明细
+	 * @param setmealId 套餐id
+	 * @return 菜品明细列表
+	 */
+	@Select("select sd.name, sd.copies, d.image, d.description from setmeal_dish sd left join dish d on sd.dish_id = d.id " +
+			"where sd.setmeal_id = #{setmealId}")
+	@Options(useCache = false)
+	List<DishItemVO> getDishItemBySetmealId(Long setmealId);
+
+	/**
+	 * 根据多个套餐id批量查询包含的菜品明细
+	 * @param setmealIds 套餐id集合
+	 * @return 菜品明细列表，包含所属套餐id
+	 */
+	List<DishItemVO> getDishItemBySetmealIds(List<Long> setmealIds);
+
+	/**
+	 * 查询所有套餐id
+	 * @return 套餐id列表
+	 */
+	@Select("select id from setmeal")
+	@Options(useCache = false)
+	List<Long> listIds();
+
+	/**
+	 * 查询所有套餐的id和名称，用于名称检索索引
+	 * @return 套餐列表，只包含id和名称
+	 */
+	@Select("select id, name from setmeal")
+	@Options(useCache = false)
+	List<Setmeal> listIdAndName();
 }
@@ -33,6 +33,12 @@ public interface CategoryService {
      */
     void update(CategoryDTO categoryDTO);
 
+    /**
+     * 调整分类排序
+     * @param ids 按新顺序排列的分类id
+     */
+    void reorder(List<Long> ids);
+
     /**
      * 启用、禁用分类
      * @param status 1启用，0禁用
@@ -40,6 +46,13 @@ public interface CategoryService {
      */
     void startOrStop(Integer status, Long id);
 
+    /**
+     * 批量启用、禁用分类
+     * @param status 1启用，0禁用
+     * @param ids 分类id集合
+     */
+    void startOrStopBatch(Integer status, List<Long> ids);
+
     /**
      * 根据类型查询分类
      * @param type 类型
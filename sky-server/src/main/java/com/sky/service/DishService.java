@@ -2,11 +2,13 @@ package com.sky.service;
 
 import com.sky.dto.DishDTO;
 import com.sky.dto.DishPageQueryDTO;
+import com.sky.dto.DishPriceDTO;
 import com.sky.entity.Dish;
 import com.sky.result.PageResult;
 import com.sky.vo.DishVO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface DishService {
 
@@ -49,10 +51,37 @@ public interface DishService {
 	 */
 	List<Dish> list(Long categoryId);
 
+	/**
+	 * 根据多个分类id批量查询启售的菜品列表
+	 * @param categoryIds 分类id集合
+	 * @return 分类id与菜品列表
+	 */
+	Map<Long, List<Dish>> listByCategoryIds(List<Long> categoryIds);
+
+	/**
+	 * 根据分类id查询启售的菜品列表和每个菜品的口味
+	 * @param categoryId 分类id
+	 * @return 菜品和口味列表
+	 */
+	List<DishVO> listWithFlavor(Long categoryId);
+
 	/**
 	 * 启售或停售菜品
 	 * @param status 菜品状态
 	 * @param id 菜品id
 	 */
 	void startOrStop(Integer status, Long id);
+
+	/**
+	 * 批量启售或停售菜品
+	 * @param status 菜品状态
+	 * @param ids 菜品id集合
+	 */
+	void startOrStopBatch(Integer status, List<Long> ids);
+
+	/**
+	 * 批量调整菜品价格，并同步套餐中的菜品价格副本
+	 * @param dishPriceDTO 调价参数
+	 */
+	void changePrice(DishPriceDTO dishPriceDTO);
 }
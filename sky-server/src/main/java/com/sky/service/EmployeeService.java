@@ -6,6 +6,8 @@ import com.sky.dto.EmployeePageQueryDTO;
 import com.sky.entity.Employee;
 import com.sky.result.PageResult;
 
+import java.util.List;
+
 public interface EmployeeService {
 
     /**
@@ -35,6 +37,13 @@ public interface EmployeeService {
 	 */
 	void startOrStop(Integer status, Long id);
 
+	/**
+	 * 批量启用禁用员工账号
+	 * @param status 员工状态
+	 * @param ids 员工ID集合
+	 */
+	void startOrStopBatch(Integer status, List<Long> ids);
+
 	/**
 	 * 根据ID查询员工信息
 	 * @param id 员工ID
@@ -0,0 +1,23 @@
+package com.sky.service;
+
+import com.sky.dto.OrdersPageQueryDTO;
+import com.sky.result.CursorPageResult;
+import com.sky.vo.OrderVO;
+
+public interface OrderService {
+
+	/**
+	 * 后台订单搜索，按下单时间倒序游标分页
+	 * @param ordersPageQueryDTO 查询条件和游标
+	 * @return 订单列表，包含订单菜品描述
+	 */
+	CursorPageResult<OrderVO> conditionSearch(OrdersPageQueryDTO ordersPageQueryDTO);
+
+	/**
+	 * 用户历史订单，按下单时间倒序游标分页
+	 * @param userId 用户id
+	 * @param ordersPageQueryDTO 查询条件和游标
+	 * @return 订单列表，包含订单明细
+	 */
+	CursorPageResult<OrderVO> historyOrders(Long userId, OrdersPageQueryDTO ordersPageQueryDTO);
+}
@@ -2,10 +2,13 @@ package com.sky.service;
 
 import com.sky.dto.SetmealDTO;
 import com.sky.dto.SetmealPageQueryDTO;
+import com.sky.entity.Setmeal;
 import com.sky.result.PageResult;
+import com.sky.vo.DishItemVO;
 import com.sky.vo.SetmealVO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface SetmealService {
 	/**
@@ -46,4 +49,32 @@ public interface SetmealService {
 	 * @param id 套餐id
 	 */
 	void startOrStop(Integer status, Long id);
+
+	/**
+	 * 批量启售或停售套餐
+	 * @param status 套餐状态
+	 * @param ids 套餐id集合
+	 */
+	void startOrStopBatch(Integer status, List<Long> ids);
+
+	/**
+	 * 根据分类id查询启售的套餐
+	 * @param categoryId 分类id
+	 * @return 套餐列表
+	 */
+	List<Setmeal> list(Long categoryId);
+
+	/**
+	 * 根据套餐id查询包含的菜品明细
+	 * @param id 套餐id
+	 * @return 菜品明细列表
+	 */
+	List<DishItemVO> getDishItemById(Long id);
+
+	/**
+	 * 根据多个套餐id批量查询包含的菜品明细
+	 * @param ids 套餐id集合
+	 * @return 套餐id与菜品明细列表
+	 */
+	Map<Long, List<DishItemVO>> getDishItemByIds(List<Long> ids);
 }
@@ -1,22 +1,29 @@
 package com.sky.service.impl;
 
-import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
+import com.sky.cache.CategoryNameDictionary;
+import com.sky.cache.MenuSnapshotEngine;
+import com.sky.cache.NameSearchIndex;
+import com.sky.cache.PageCountCache;
 import com.sky.constant.MessageConstant;
 import com.sky.constant.StatusConstant;
 import com.sky.dto.CategoryDTO;
 import com.sky.dto.CategoryPageQueryDTO;
 import com.sky.entity.Category;
+import com.sky.enumeration.NameIndexType;
 import com.sky.exception.DeletionNotAllowedException;
 import com.sky.mapper.CategoryMapper;
 import com.sky.mapper.DishMapper;
 import com.sky.mapper.SetmealMapper;
 import com.sky.result.PageResult;
 import com.sky.service.CategoryService;
+import com.sky.utils.BatchUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,12 +36,22 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryMapper categoryMapper;
     private final DishMapper dishMapper;
     private final SetmealMapper setmealMapper;
+    private final MenuSnapshotEngine menuSnapshotEngine;
+    private final CategoryNameDictionary categoryNameDictionary;
+    private final NameSearchIndex nameSearchIndex;
+    private final PageCountCache pageCountCache;
 
 	@Autowired
-	public CategoryServiceImpl(CategoryMapper categoryMapper, DishMapper dishMapper, SetmealMapper setmealMapper) {
+	public CategoryServiceImpl(CategoryMapper categoryMapper, DishMapper dishMapper, SetmealMapper setmealMapper,
+	                           MenuSnapshotEngine menuSnapshotEngine, CategoryNameDictionary categoryNameDictionary,
+	                           NameSearchIndex nameSearchIndex, PageCountCache pageCountCache) {
 		this.categoryMapper = categoryMapper;
 		this.dishMapper = dishMapper;
 		this.setmealMapper = setmealMapper;
+		this.menuSnapshotEngine = menuSnapshotEngine;
+		this.categoryNameDictionary = categoryNameDictionary;
+		this.nameSearchIndex = nameSearchIndex;
+		this.pageCountCache = pageCountCache;
 	}
 
 	/**
@@ -50,6 +67,9 @@ public class CategoryServiceImpl implements CategoryService {
         category.setStatus(StatusConstant.DISABLE);
 
         categoryMapper.insert(category);
+        menuSnapshotEngine.invalidate();
+        categoryNameDictionary.invalidate();
+        nameSearchIndex.put(NameIndexType.CATEGORY, category.getId(), category.getName());
     }
 
     /**
@@ -58,11 +78,16 @@ public class CategoryServiceImpl implements CategoryService {
      * @return 分页查询结果
      */
     public PageResult<Category> pageQuery(CategoryPageQueryDTO categoryPageQueryDTO) {
+	    // 名称关键字先查索引，没有匹配时不再查询数据库
+	    List<Long> ids = nameSearchIndex.search(NameIndexType.CATEGORY, categoryPageQueryDTO.getName());
+	    if (ids != null && ids.isEmpty()) {
+		    return new PageResult<>(0L, List.of());
+	    }
 	    try {
-		    PageHelper.startPage(categoryPageQueryDTO.getPage(),categoryPageQueryDTO.getPageSize());
-		    try (Page<Category> page = categoryMapper.pageQuery(categoryPageQueryDTO)) {
-			    return new PageResult<>(page.getTotal(), page.getResult());
-		    }
+		    return pageCountCache.query(CategoryMapper.class,
+				    Arrays.asList(categoryPageQueryDTO.getName(), categoryPageQueryDTO.getType()),
+				    categoryPageQueryDTO.getPage(), categoryPageQueryDTO.getPageSize(), Boolean.TRUE.equals(categoryPageQueryDTO.getEstimate()),
+				    () -> categoryMapper.pageQuery(categoryPageQueryDTO, ids));
 	    } catch (Exception e) {
 		    log.error("分页查询分类异常", e);
 		    throw new RuntimeException("查询分类失败", e);
@@ -92,6 +117,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         //删除分类数据
         categoryMapper.deleteById(id);
+        menuSnapshotEngine.invalidate();
+        categoryNameDictionary.invalidate();
+        nameSearchIndex.remove(NameIndexType.CATEGORY, List.of(id));
     }
 
     /**
@@ -103,6 +131,21 @@ public class CategoryServiceImpl implements CategoryService {
         BeanUtils.copyProperties(categoryDTO,category);
 
         categoryMapper.update(category);
+        menuSnapshotEngine.invalidate();
+        categoryNameDictionary.invalidate();
+        nameSearchIndex.put(NameIndexType.CATEGORY, category.getId(), category.getName());
+    }
+
+    /**
+     * 调整分类排序，按id在列表中的位置设置 sort，一条 update ... case 语句完成
+     * @param ids 按新顺序排列的分类id
+     */
+    public void reorder(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        categoryMapper.updateSort(new Category(), ids.stream().distinct().toList());
+        menuSnapshotEngine.invalidate();
     }
 
     /**
@@ -116,6 +159,23 @@ public class CategoryServiceImpl implements CategoryService {
                 .status(status)
                 .build();
         categoryMapper.update(category);
+        menuSnapshotEngine.invalidate();
+    }
+
+    /**
+     * 批量启用、禁用分类，每批执行一条 update ... where id in，全部完成后只失效一次菜单快照
+     * @param status 1启用，0禁用
+     * @param ids 分类id集合
+     */
+    @Transactional
+    public void startOrStopBatch(Integer status, List<Long> ids) {
+        Category category = Category.builder()
+                .status(status)
+                .build();
+        for (List<Long> batch : BatchUtils.partition(ids.stream().distinct().toList())) {
+            categoryMapper.updateStatusByIds(category, batch);
+        }
+        menuSnapshotEngine.invalidate();
     }
 
     /**
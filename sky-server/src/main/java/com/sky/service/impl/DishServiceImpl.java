@@ -1,21 +1,33 @@
 package com.sky.service.impl;
 
-import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
+import com.sky.cache.CatalogIdFilter;
+import com.sky.cache.CategoryNameDictionary;
+import com.sky.cache.MenuAutocomplete;
+import com.sky.cache.NameSearchIndex;
+import com.sky.cache.PageCountCache;
+import com.sky.cache.TwoLevelCache;
 import com.sky.constant.MessageConstant;
 import com.sky.constant.StatusConstant;
 import com.sky.dto.DishDTO;
 import com.sky.dto.DishPageQueryDTO;
+import com.sky.dto.DishPriceDTO;
 import com.sky.entity.Dish;
 import com.sky.entity.DishFlavor;
+import com.sky.enumeration.CatalogType;
+import com.sky.enumeration.NameIndexType;
 import com.sky.exception.DeletionNotAllowedException;
 import com.sky.exception.DishDisableFailedException;
+import com.sky.exception.DishPriceChangeFailedException;
 import com.sky.mapper.DishFlavorMapper;
 import com.sky.mapper.DishMapper;
 import com.sky.mapper.SetmealDishMapper;
 import com.sky.mapper.SetmealMapper;
 import com.sky.result.PageResult;
 import com.sky.service.DishService;
+import com.sky.utils.BatchUtils;
+import com.sky.utils.ChildCollectionDiff;
+import com.sky.vo.DishItemVO;
 import com.sky.vo.DishVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -23,7 +35,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -33,13 +51,31 @@ public class DishServiceImpl implements DishService {
 	private final DishFlavorMapper dishFlavorMapper;
 	private final SetmealDishMapper setmealDishMapper;
 	private final SetmealMapper setmealMapper;
+	private final TwoLevelCache<List<Dish>> dishCache;
+	private final TwoLevelCache<List<DishItemVO>> setmealDishCache;
+	private final CatalogIdFilter catalogIdFilter;
+	private final CategoryNameDictionary categoryNameDictionary;
+	private final NameSearchIndex nameSearchIndex;
+	private final MenuAutocomplete menuAutocomplete;
+	private final PageCountCache pageCountCache;
 
 	@Autowired
-	public DishServiceImpl(DishMapper dishMapper, DishFlavorMapper dishFlavorMapper, SetmealDishMapper setmealDishMapper, SetmealMapper setmealMapper) {
+	public DishServiceImpl(DishMapper dishMapper, DishFlavorMapper dishFlavorMapper, SetmealDishMapper setmealDishMapper,
+	                       SetmealMapper setmealMapper, TwoLevelCache<List<Dish>> dishCache,
+	                       TwoLevelCache<List<DishItemVO>> setmealDishCache, CatalogIdFilter catalogIdFilter,
+	                       CategoryNameDictionary categoryNameDictionary, NameSearchIndex nameSearchIndex,
+	                       MenuAutocomplete menuAutocomplete, PageCountCache pageCountCache) {
 		this.dishMapper = dishMapper;
 		this.dishFlavorMapper = dishFlavorMapper;
 		this.setmealDishMapper = setmealDishMapper;
 		this.setmealMapper = setmealMapper;
+		this.dishCache = dishCache;
+		this.setmealDishCache = setmealDishCache;
+		this.catalogIdFilter = catalogIdFilter;
+		this.categoryNameDictionary = categoryNameDictionary;
+		this.nameSearchIndex = nameSearchIndex;
+		this.menuAutocomplete = menuAutocomplete;
+		this.pageCountCache = pageCountCache;
 	}
 
 	/**
@@ -63,7 +99,10 @@ public class DishServiceImpl implements DishService {
 			// 向口味表插入多条数据
 			dishFlavorMapper.insertBatch(flavors);
 		}
-
+		nameSearchIndex.put(NameIndexType.DISH, dishId, dish.getName());
+		menuAutocomplete.refresh(CatalogType.DISH, List.of(dishId));
+		// 清理该分类的菜品缓存
+		dishCache.evict(dish.getCategoryId());
 	}
 
 	/**
@@ -73,11 +112,18 @@ public class DishServiceImpl implements DishService {
 	 */
 	@Override
 	public PageResult<DishVO> pageQuery(DishPageQueryDTO dishPageQueryDTO) {
+		// 名称关键字先查索引，没有匹配时不再查询数据库
+		List<Long> ids = nameSearchIndex.search(NameIndexType.DISH, dishPageQueryDTO.getName());
+		if (ids != null && ids.isEmpty()) {
+			return new PageResult<>(0L, List.of());
+		}
 		try {
-			PageHelper.startPage(dishPageQueryDTO.getPage(), dishPageQueryDTO.getPageSize());
-			try (Page<DishVO> page = dishMapper.pageQuery(dishPageQueryDTO)) {
-				return new PageResult<>(page.getTotal(), page.getResult());
-			}
+			PageResult<DishVO> pageResult = pageCountCache.query(DishMapper.class,
+					Arrays.asList(dishPageQueryDTO.getName(), dishPageQueryDTO.getCategoryId(), dishPageQueryDTO.getStatus()),
+					dishPageQueryDTO.getPage(), dishPageQueryDTO.getPageSize(), Boolean.TRUE.equals(dishPageQueryDTO.getEstimate()),
+					() -> dishMapper.pageQuery(dishPageQueryDTO, ids));
+			pageResult.getRecords().forEach(dishVO -> dishVO.setCategoryName(categoryNameDictionary.getName(dishVO.getCategoryId())));
+			return pageResult;
 		} catch (Exception e) {
 			log.error("分页查询菜品异常", e);
 			throw new RuntimeException("查询菜品失败", e);
@@ -93,23 +139,30 @@ public class DishServiceImpl implements DishService {
 	@Transactional
 	@Override
 	public void deleteBatch(List<Long> ids) {
+		// 按批执行集合操作，避免逐条查询和删除，过长的id列表拆分为多批
+		List<List<Long>> batches = BatchUtils.partition(ids.stream().distinct().toList());
 		// 判断当前菜品是否可删除：1 是否启售 2 是否关联了套餐
-		for (Long id : ids) {
-			Dish dish = dishMapper.getById(id);
-			if(dish.getStatus().equals(StatusConstant.ENABLE)) {
+		for (List<Long> batch : batches) {
+			if (dishMapper.countByIdsAndStatus(batch, StatusConstant.ENABLE) > 0) {
 				throw new DeletionNotAllowedException(MessageConstant.DISH_ON_SALE);
 			}
+			List<Long> setmealIds = setmealDishMapper.getSetmealIdsByDishIds(batch);
+			if (setmealIds != null && !setmealIds.isEmpty()) {
+				throw new DeletionNotAllowedException(MessageConstant.DISH_BE_RELATED_BY_SETMEAL);
+			}
 		}
-		List<Long> setmealIds = setmealDishMapper.getSetmealIdsByDishIds(ids);
-		if(setmealIds != null && !setmealIds.isEmpty()) {
-			throw new DeletionNotAllowedException(MessageConstant.DISH_BE_RELATED_BY_SETMEAL);
-		}
-		// 删除菜品表数据
-		for (Long id : ids) {
-			dishMapper.deleteById(id);
+		List<Long> categoryIds = new ArrayList<>();
+		for (List<Long> batch : batches) {
+			categoryIds.addAll(dishMapper.getCategoryIdsByIds(batch));
+			// 删除菜品表数据
+			dishMapper.deleteByIds(batch);
 			// 删除口味表数据
-			dishFlavorMapper.deleteByDishId(id);
+			dishFlavorMapper.deleteByDishIds(batch);
 		}
+		nameSearchIndex.remove(NameIndexType.DISH, ids);
+		menuAutocomplete.refresh(CatalogType.DISH, ids);
+		// 清理被删除菜品所属分类的缓存
+		dishCache.evict(categoryIds);
 	}
 
 	/**
@@ -119,8 +172,15 @@ public class DishServiceImpl implements DishService {
 	 */
 	@Override
 	public DishVO getByIdWithFlavor(Long id) {
+		// 布隆过滤器判断不存在的id直接返回，不再查询数据库
+		if (!catalogIdFilter.mightContain(CatalogType.DISH, id)) {
+			return null;
+		}
 		// 查询菜品基本信息
 		Dish dish = dishMapper.getById(id);
+		if (dish == null) {
+			return null;
+		}
 		// 查询菜品口味信息
 		List<DishFlavor> dishFlavors = dishFlavorMapper.getByDishId(id);
 		// 组装数据并返回
@@ -139,19 +199,74 @@ public class DishServiceImpl implements DishService {
 	public void updateWithFlavor(DishDTO dishDTO) {
 		Dish dish = new Dish();
 		BeanUtils.copyProperties(dishDTO, dish);
+		// 记录修改前的分类，菜品可能被移动到其他分类
+		Dish original = dishMapper.getById(dishDTO.getId());
 		// 更新菜品表基本信息
 		dishMapper.update(dish);
-		// 删除原有口味数据
-		dishFlavorMapper.deleteByDishId(dishDTO.getId());
-		// 新增当前口味数据
+		nameSearchIndex.put(NameIndexType.DISH, dish.getId(), dish.getName());
+		menuAutocomplete.refresh(CatalogType.DISH, List.of(dish.getId()));
+		// 同步套餐中冗余的菜品名称和价格
+		setmealDishMapper.syncDishCopies(null, List.of(dishDTO.getId()));
+		// 与现有口味按名称比较，只执行需要的新增、修改和删除
 		List<DishFlavor> flavors = dishDTO.getFlavors();
-		if (flavors != null && !flavors.isEmpty()) {
+		if (flavors != null) {
 			flavors.forEach(dishFlavor -> {
 				dishFlavor.setDishId(dishDTO.getId()); // 设置口味的菜品id
 			});
-			// 向口味表插入多条数据
-			dishFlavorMapper.insertBatch(flavors);
 		}
+		ChildCollectionDiff<DishFlavor> diff = ChildCollectionDiff.compare(
+				dishFlavorMapper.getByDishIdForUpdate(dishDTO.getId()), flavors,
+				DishFlavor::getName, DishFlavor::getId, DishFlavor::setId,
+				(current, incoming) -> Objects.equals(current.getValue(), incoming.getValue()));
+		BatchUtils.partition(diff.getDeleteIds()).forEach(dishFlavorMapper::deleteByIds);
+		BatchUtils.partition(diff.getUpdates()).forEach(dishFlavorMapper::updateBatch);
+		BatchUtils.partition(diff.getInserts()).forEach(dishFlavorMapper::insertBatch);
+		// 清理修改前后分类的菜品缓存
+		List<Long> categoryIds = new ArrayList<>();
+		if (original != null) {
+			categoryIds.add(original.getCategoryId());
+		}
+		categoryIds.add(dishDTO.getCategoryId());
+		dishCache.evict(categoryIds);
+		// 套餐菜品明细中包含菜品的图片和描述，一并清理
+		setmealDishCache.evict(setmealDishMapper.getSetmealIdsByDishId(dishDTO.getId()));
+	}
+
+	/**
+	 * 批量调整菜品价格
+	 * 菜品价格和套餐菜品中的价格副本都用集合更新，在同一事务中完成，提交后统一清理一次缓存
+	 * @param dishPriceDTO 调价参数
+	 */
+	@Transactional
+	@Override
+	public void changePrice(DishPriceDTO dishPriceDTO) {
+		List<Long> ids = dishPriceDTO.getIds();
+		boolean byIds = ids != null && !ids.isEmpty();
+		if (!byIds && dishPriceDTO.getCategoryId() == null) {
+			throw new DishPriceChangeFailedException(MessageConstant.DISH_PRICE_TARGET_REQUIRED);
+		}
+		if ((dishPriceDTO.getPercent() == null) == (dishPriceDTO.getAmount() == null)) {
+			throw new DishPriceChangeFailedException(MessageConstant.DISH_PRICE_CHANGE_REQUIRED);
+		}
+		Dish dish = new Dish();
+		List<Long> categoryIds = new ArrayList<>();
+		if (byIds) {
+			for (List<Long> batch : BatchUtils.partition(ids.stream().distinct().toList())) {
+				dishMapper.updatePrice(dish, dishPriceDTO, batch);
+				setmealDishMapper.syncDishCopies(null, batch);
+				categoryIds.addAll(dishMapper.getCategoryIdsByIds(batch));
+			}
+			menuAutocomplete.refresh(CatalogType.DISH, ids);
+		} else {
+			dishMapper.updatePrice(dish, dishPriceDTO, null);
+			setmealDishMapper.syncDishCopies(dishPriceDTO.getCategoryId(), null);
+			categoryIds.add(dishPriceDTO.getCategoryId());
+			// 按分类调价时不逐个查询受影响的菜品，直接全量重建
+			menuAutocomplete.refreshAll();
+		}
+		dishCache.evict(categoryIds);
+		// 套餐菜品明细中的菜品名称取自 setmeal_dish 中的副本，一并清理
+		setmealDishCache.evictAll();
 	}
 
 	/**
@@ -161,6 +276,53 @@ public class DishServiceImpl implements DishService {
 	 */
 	@Override
 	public List<Dish> list(Long categoryId) {
+		if (!catalogIdFilter.mightContain(CatalogType.CATEGORY, categoryId)) {
+			return List.of();
+		}
+		// 先查本地缓存和Redis，未命中再查询数据库
+		return dishCache.get(categoryId, this::listEnabled);
+	}
+
+	/**
+	 * 根据多个分类id批量查询启售的菜品列表，Redis 只访问一次
+	 * @param categoryIds 分类id集合
+	 * @return 分类id与菜品列表
+	 */
+	@Override
+	public Map<Long, List<Dish>> listByCategoryIds(List<Long> categoryIds) {
+		List<Long> ids = categoryIds.stream()
+				.filter(id -> catalogIdFilter.mightContain(CatalogType.CATEGORY, id))
+				.toList();
+		return dishCache.getAll(ids, this::listEnabledByCategoryIds);
+	}
+
+	/**
+	 * 根据分类id查询启售的菜品列表和每个菜品的口味
+	 * 菜品和口味各查询一次，在内存中按菜品id分组，查询次数与菜品数量无关
+	 * @param categoryId 分类id
+	 * @return 菜品和口味列表
+	 */
+	@Override
+	public List<DishVO> listWithFlavor(Long categoryId) {
+		if (!catalogIdFilter.mightContain(CatalogType.CATEGORY, categoryId)) {
+			return List.of();
+		}
+		List<Dish> dishes = listEnabled(categoryId);
+		if (dishes.isEmpty()) {
+			return List.of();
+		}
+		List<Long> dishIds = dishes.stream().map(Dish::getId).toList();
+		Map<Long, List<DishFlavor>> flavors = dishFlavorMapper.getByDishIds(dishIds).stream()
+				.collect(Collectors.groupingBy(DishFlavor::getDishId));
+		return dishes.stream().map(dish -> {
+			DishVO dishVO = new DishVO();
+			BeanUtils.copyProperties(dish, dishVO);
+			dishVO.setFlavors(flavors.getOrDefault(dish.getId(), List.of()));
+			return dishVO;
+		}).toList();
+	}
+
+	private List<Dish> listEnabled(Long categoryId) {
 		Dish dish = Dish.builder()
 				.categoryId(categoryId)
 				.status(StatusConstant.ENABLE) // 只查询启售的菜品
@@ -168,6 +330,18 @@ public class DishServiceImpl implements DishService {
 		return dishMapper.list(dish);
 	}
 
+	/**
+	 * 一次查询多个分类下启售的菜品，没有菜品的分类对应空列表，与逐个查询的结果一致
+	 */
+	private Map<Long, List<Dish>> listEnabledByCategoryIds(List<Long> categoryIds) {
+		Map<Long, List<Dish>> result = new LinkedHashMap<>();
+		categoryIds.forEach(categoryId -> result.put(categoryId, new ArrayList<>()));
+		for (Dish dish : dishMapper.listByCategoryIds(categoryIds, StatusConstant.ENABLE)) {
+			result.get(dish.getCategoryId()).add(dish);
+		}
+		return result;
+	}
+
 	/**
 	 * 启售或停售菜品
 	 * @param status 菜品状态
@@ -176,21 +350,49 @@ public class DishServiceImpl implements DishService {
 	@Override
 	public void startOrStop(Integer status, Long id) {
 		// 如果当前是停售状态，判断菜品是否关联了套餐，且套餐是否启售，如果是启售则不能停售
-		if(status.equals(StatusConstant.DISABLE)) {
-			List<Long> setmealIds = setmealDishMapper.getSetmealIdsByDishId(id);
-			if(setmealIds != null && !setmealIds.isEmpty()) {
-				setmealIds.forEach(setmealId -> {
-					Integer setmealStatus = setmealMapper.getById(setmealId).getStatus();
-					if(setmealStatus != null && setmealStatus.equals(StatusConstant.ENABLE)) {
-						throw new DishDisableFailedException(MessageConstant.DISH_RELATED_BY_SETMEAL_WHICH_IS_ON_SALE);
-					}
-				});
-			}
+		if(status.equals(StatusConstant.DISABLE)
+				&& setmealMapper.existsByDishIdAndStatus(id, StatusConstant.ENABLE)) {
+			throw new DishDisableFailedException(MessageConstant.DISH_RELATED_BY_SETMEAL_WHICH_IS_ON_SALE);
 		}
 		Dish dish = Dish.builder()
 				.id(id)
 				.status(status)
 				.build();
 		dishMapper.update(dish);
+		menuAutocomplete.refresh(CatalogType.DISH, List.of(id));
+		// 清理该菜品所属分类的缓存
+		Dish current = dishMapper.getById(id);
+		if (current != null) {
+			dishCache.evict(current.getCategoryId());
+		}
+	}
+
+	/**
+	 * 批量启售或停售菜品
+	 * 停售时每批只用一条查询判断是否关联了起售中的套餐，状态修改为集合更新，全部完成后统一清理缓存
+	 * @param status 菜品状态
+	 * @param ids 菜品id集合
+	 */
+	@Transactional
+	@Override
+	public void startOrStopBatch(Integer status, List<Long> ids) {
+		List<List<Long>> batches = BatchUtils.partition(ids.stream().distinct().toList());
+		if (status.equals(StatusConstant.DISABLE)) {
+			for (List<Long> batch : batches) {
+				if (setmealMapper.existsByDishIdsAndStatus(batch, StatusConstant.ENABLE)) {
+					throw new DishDisableFailedException(MessageConstant.DISH_RELATED_BY_SETMEAL_WHICH_IS_ON_SALE);
+				}
+			}
+		}
+		Dish dish = Dish.builder()
+				.status(status)
+				.build();
+		List<Long> categoryIds = new ArrayList<>();
+		for (List<Long> batch : batches) {
+			dishMapper.updateStatusByIds(dish, batch);
+			categoryIds.addAll(dishMapper.getCategoryIdsByIds(batch));
+		}
+		menuAutocomplete.refresh(CatalogType.DISH, ids);
+		dishCache.evict(categoryIds);
 	}
 }
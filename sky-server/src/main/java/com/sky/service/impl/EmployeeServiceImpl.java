@@ -1,7 +1,8 @@
 package com.sky.service.impl;
 
-import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
+import com.sky.cache.NameSearchIndex;
+import com.sky.cache.PageCountCache;
 import com.sky.constant.MessageConstant;
 import com.sky.constant.PasswordConstant;
 import com.sky.constant.StatusConstant;
@@ -9,6 +10,7 @@ import com.sky.dto.EmployeeDTO;
 import com.sky.dto.EmployeeLoginDTO;
 import com.sky.dto.EmployeePageQueryDTO;
 import com.sky.entity.Employee;
+import com.sky.enumeration.NameIndexType;
 import com.sky.exception.AccountLockedException;
 import com.sky.exception.AccountNotFoundException;
 import com.sky.exception.BaseException;
@@ -16,20 +18,29 @@ import com.sky.exception.PasswordErrorException;
 import com.sky.mapper.EmployeeMapper;
 import com.sky.result.PageResult;
 import com.sky.service.EmployeeService;
+import com.sky.utils.BatchUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.DigestUtils;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Slf4j
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeMapper employeeMapper;
+    private final NameSearchIndex nameSearchIndex;
+    private final PageCountCache pageCountCache;
 
 	@Autowired
-	public EmployeeServiceImpl(EmployeeMapper employeeMapper) {
+	public EmployeeServiceImpl(EmployeeMapper employeeMapper, NameSearchIndex nameSearchIndex, PageCountCache pageCountCache) {
 		this.employeeMapper = employeeMapper;
+		this.nameSearchIndex = nameSearchIndex;
+		this.pageCountCache = pageCountCache;
 	}
 
 	/**
@@ -80,6 +91,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 		employee.setPassword(DigestUtils.md5DigestAsHex(PasswordConstant.DEFAULT_PASSWORD.getBytes()));
 		//将数据插入到数据库中
 		employeeMapper.insert(employee);
+		nameSearchIndex.put(NameIndexType.EMPLOYEE, employee.getId(), employee.getName());
 	}
 
 	/**
@@ -89,11 +101,15 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 */
 	@Override
 	public PageResult<Employee> pageQuery(EmployeePageQueryDTO employeePageQueryDTO) throws BaseException {
+		// 姓名关键字先查索引，没有匹配时不再查询数据库
+		List<Long> ids = nameSearchIndex.search(NameIndexType.EMPLOYEE, employeePageQueryDTO.getName());
+		if (ids != null && ids.isEmpty()) {
+			return new PageResult<>(0L, List.of());
+		}
 		try {
-			PageHelper.startPage(employeePageQueryDTO.getPage(), employeePageQueryDTO.getPageSize());
-			try (Page<Employee> page = employeeMapper.pageQuery(employeePageQueryDTO)){
-				return new PageResult<>(page.getTotal(), page.getResult());
-			}
+			return pageCountCache.query(EmployeeMapper.class, Arrays.asList(employeePageQueryDTO.getName()),
+					employeePageQueryDTO.getPage(), employeePageQueryDTO.getPageSize(), Boolean.TRUE.equals(employeePageQueryDTO.getEstimate()),
+					() -> employeeMapper.pageQuery(employeePageQueryDTO, ids));
 		} catch (Exception e) {
 			log.error("分页查询员工信息异常", e);
 			throw new RuntimeException("查询员工信息失败", e);
@@ -116,6 +132,22 @@ public class EmployeeServiceImpl implements EmployeeService {
 		employeeMapper.update(employee);
 	}
 
+	/**
+	 * 批量启用禁用员工账号，每批执行一条 update ... where id in
+	 * @param status 员工状态
+	 * @param ids 员工ID集合
+	 */
+	@Transactional
+	@Override
+	public void startOrStopBatch(Integer status, List<Long> ids) {
+		Employee employee = Employee.builder()
+				.status(status)
+				.build();
+		for (List<Long> batch : BatchUtils.partition(ids.stream().distinct().toList())) {
+			employeeMapper.updateStatusByIds(employee, batch);
+		}
+	}
+
 	/**
 	 * 根据ID查询员工信息
 	 * @param id 员工ID
@@ -137,6 +169,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 		BeanUtils.copyProperties(employeeDTO, employee);
 		//更新数据库中的数据
 		employeeMapper.update(employee);
+		nameSearchIndex.put(NameIndexType.EMPLOYEE, employee.getId(), employee.getName());
 	}
 
 }
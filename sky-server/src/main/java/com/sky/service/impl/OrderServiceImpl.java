@@ -0,0 +1,118 @@
+package com.sky.service.impl;
+
+import com.sky.constant.MessageConstant;
+import com.sky.dto.OrdersPageQueryDTO;
+import com.sky.entity.OrderDetail;
+import com.sky.entity.Orders;
+import com.sky.exception.OrderBusinessException;
+import com.sky.mapper.OrderDetailMapper;
+import com.sky.mapper.OrderMapper;
+import com.sky.result.CursorPageResult;
+import com.sky.service.OrderService;
+import com.sky.vo.OrderVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class OrderServiceImpl implements OrderService {
+
+	private static final String CURSOR_SEPARATOR = ",";
+	private static final int DEFAULT_PAGE_SIZE = 10;
+
+	private final OrderMapper orderMapper;
+	private final OrderDetailMapper orderDetailMapper;
+
+	@Autowired
+	public OrderServiceImpl(OrderMapper orderMapper, OrderDetailMapper orderDetailMapper) {
+		this.orderMapper = orderMapper;
+		this.orderDetailMapper = orderDetailMapper;
+	}
+
+	/**
+	 * 后台订单搜索，按下单时间倒序游标分页
+	 * @param ordersPageQueryDTO 查询条件和游标
+	 * @return 订单列表，包含订单菜品描述
+	 */
+	@Override
+	public CursorPageResult<OrderVO> conditionSearch(OrdersPageQueryDTO ordersPageQueryDTO) {
+		CursorPageResult<OrderVO> pageResult = cursorQuery(ordersPageQueryDTO);
+		pageResult.getRecords().forEach(orderVO -> orderVO.setOrderDishes(orderVO.getOrderDetailList().stream()
+				.map(orderDetail -> orderDetail.getName() + "*" + orderDetail.getNumber() + ";")
+				.collect(Collectors.joining())));
+		return pageResult;
+	}
+
+	/**
+	 * 用户历史订单，按下单时间倒序游标分页
+	 * @param userId 用户id
+	 * @param ordersPageQueryDTO 查询条件和游标
+	 * @return 订单列表，包含订单明细
+	 */
+	@Override
+	public CursorPageResult<OrderVO> historyOrders(Long userId, OrdersPageQueryDTO ordersPageQueryDTO) {
+		ordersPageQueryDTO.setUserId(userId);
+		return cursorQuery(ordersPageQueryDTO);
+	}
+
+	/**
+	 * 游标分页：从上一页最后一条的 (下单时间, id) 之后读取，不论翻到第几页都只扫描一页数据；
+	 * 多取一条判断是否还有下一页，总数只在调用方要求时统计
+	 */
+	private CursorPageResult<OrderVO> cursorQuery(OrdersPageQueryDTO ordersPageQueryDTO) {
+		int pageSize = ordersPageQueryDTO.getPageSize() > 0 ? ordersPageQueryDTO.getPageSize() : DEFAULT_PAGE_SIZE;
+		LocalDateTime orderTime = null;
+		Long id = null;
+		String cursor = ordersPageQueryDTO.getCursor();
+		if (cursor != null && !cursor.isBlank()) {
+			try {
+				String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+						.split(CURSOR_SEPARATOR);
+				orderTime = LocalDateTime.parse(parts[0]);
+				id = Long.valueOf(parts[1]);
+			} catch (RuntimeException e) {
+				throw new OrderBusinessException(MessageConstant.ORDER_CURSOR_INVALID);
+			}
+		}
+		List<Orders> rows = orderMapper.pageQueryAfter(ordersPageQueryDTO, orderTime, id, pageSize + 1);
+		String nextCursor = null;
+		if (rows.size() > pageSize) {
+			rows = rows.subList(0, pageSize);
+			Orders last = rows.get(pageSize - 1);
+			nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+					(last.getOrderTime() + CURSOR_SEPARATOR + last.getId()).getBytes(StandardCharsets.UTF_8));
+		}
+		Long total = Boolean.TRUE.equals(ordersPageQueryDTO.getCount())
+				? orderMapper.countByCondition(ordersPageQueryDTO) : null;
+		return new CursorPageResult<>(total, toOrderVOs(rows), nextCursor);
+	}
+
+	/**
+	 * 一次查出当前页全部订单的明细，按订单分组
+	 */
+	private List<OrderVO> toOrderVOs(List<Orders> orders) {
+		if (orders.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Map<Long, List<OrderDetail>> details = orderDetailMapper.getByOrderIds(orders.stream().map(Orders::getId).toList())
+				.stream().collect(Collectors.groupingBy(OrderDetail::getOrderId));
+		List<OrderVO> orderVOs = new ArrayList<>(orders.size());
+		for (Orders order : orders) {
+			OrderVO orderVO = new OrderVO();
+			BeanUtils.copyProperties(order, orderVO);
+			orderVO.setOrderDetailList(details.getOrDefault(order.getId(), new ArrayList<>()));
+			orderVOs.add(orderVO);
+		}
+		return orderVOs;
+	}
+}
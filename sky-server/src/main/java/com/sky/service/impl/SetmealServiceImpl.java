@@ -1,14 +1,20 @@
 package com.sky.service.impl;
 
-import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
+import com.sky.cache.CatalogIdFilter;
+import com.sky.cache.CategoryNameDictionary;
+import com.sky.cache.MenuAutocomplete;
+import com.sky.cache.NameSearchIndex;
+import com.sky.cache.PageCountCache;
+import com.sky.cache.TwoLevelCache;
 import com.sky.constant.MessageConstant;
 import com.sky.constant.StatusConstant;
 import com.sky.dto.SetmealDTO;
 import com.sky.dto.SetmealPageQueryDTO;
-import com.sky.entity.Dish;
 import com.sky.entity.Setmeal;
 import com.sky.entity.SetmealDish;
+import com.sky.enumeration.CatalogType;
+import com.sky.enumeration.NameIndexType;
 import com.sky.exception.DeletionNotAllowedException;
 import com.sky.exception.SetmealEnableFailedException;
 import com.sky.mapper.DishMapper;
@@ -16,6 +22,9 @@ import com.sky.mapper.SetmealDishMapper;
 import com.sky.mapper.SetmealMapper;
 import com.sky.result.PageResult;
 import com.sky.service.SetmealService;
+import com.sky.utils.BatchUtils;
+import com.sky.utils.ChildCollectionDiff;
+import com.sky.vo.DishItemVO;
 import com.sky.vo.SetmealVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
@@ -23,7 +32,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Slf4j
@@ -32,12 +46,30 @@ public class SetmealServiceImpl implements SetmealService {
 	private final SetmealMapper setmealMapper;
 	private final SetmealDishMapper setmealDishMapper;
 	private final DishMapper dishMapper;
+	private final TwoLevelCache<List<Setmeal>> setmealCache;
+	private final TwoLevelCache<List<DishItemVO>> setmealDishCache;
+	private final CatalogIdFilter catalogIdFilter;
+	private final CategoryNameDictionary categoryNameDictionary;
+	private final NameSearchIndex nameSearchIndex;
+	private final MenuAutocomplete menuAutocomplete;
+	private final PageCountCache pageCountCache;
 
 	@Autowired
-	public SetmealServiceImpl(SetmealMapper setmealMapper, SetmealDishMapper setmealDishMapper, DishMapper dishMapper) {
+	public SetmealServiceImpl(SetmealMapper setmealMapper, SetmealDishMapper setmealDishMapper, DishMapper dishMapper,
+	                          TwoLevelCache<List<Setmeal>> setmealCache, TwoLevelCache<List<DishItemVO>> setmealDishCache,
+	                          CatalogIdFilter catalogIdFilter, CategoryNameDictionary categoryNameDictionary,
+	                          NameSearchIndex nameSearchIndex, MenuAutocomplete menuAutocomplete,
+	                          PageCountCache pageCountCache) {
 		this.setmealMapper = setmealMapper;
 		this.setmealDishMapper = setmealDishMapper;
 		this.dishMapper = dishMapper;
+		this.setmealCache = setmealCache;
+		this.setmealDishCache = setmealDishCache;
+		this.catalogIdFilter = catalogIdFilter;
+		this.categoryNameDictionary = categoryNameDictionary;
+		this.nameSearchIndex = nameSearchIndex;
+		this.menuAutocomplete = menuAutocomplete;
+		this.pageCountCache = pageCountCache;
 	}
 
 	/**
@@ -50,12 +82,16 @@ public class SetmealServiceImpl implements SetmealService {
 		Setmeal setmeal = new Setmeal();
 		BeanUtils.copyProperties(setmealDTO, setmeal);
 		setmealMapper.insert(setmeal);
+		nameSearchIndex.put(NameIndexType.SETMEAL, setmeal.getId(), setmeal.getName());
+		menuAutocomplete.refresh(CatalogType.SETMEAL, List.of(setmeal.getId()));
 		List<SetmealDish> setmealDishes = setmealDTO.getSetmealDishes();
 		Long setmealId = setmeal.getId();
 		if(setmealDishes!=null && !setmealDishes.isEmpty()) {
 			setmealDishes.forEach(setmealDish -> setmealDish.setSetmealId(setmealId));
 			setmealDishMapper.insertBatch(setmealDishes);
 		}
+		// 清理该分类的套餐缓存
+		setmealCache.evict(setmeal.getCategoryId());
 	}
 
 	/**
@@ -65,11 +101,18 @@ public class SetmealServiceImpl implements SetmealService {
 	 */
 	@Override
 	public PageResult<SetmealVO> pageQuery(SetmealPageQueryDTO setmealPageQueryDTO) {
+		// 名称关键字先查索引，没有匹配时不再查询数据库
+		List<Long> ids = nameSearchIndex.search(NameIndexType.SETMEAL, setmealPageQueryDTO.getName());
+		if (ids != null && ids.isEmpty()) {
+			return new PageResult<>(0L, List.of());
+		}
 		try {
-			PageHelper.startPage(setmealPageQueryDTO.getPage(), setmealPageQueryDTO.getPageSize());
-			try (Page<SetmealVO> page = setmealMapper.pageQuery(setmealPageQueryDTO)) {
-				return new PageResult<>(page.getTotal(), page.getResult());
-			}
+			PageResult<SetmealVO> pageResult = pageCountCache.query(SetmealMapper.class,
+					Arrays.asList(setmealPageQueryDTO.getName(), setmealPageQueryDTO.getCategoryId(), setmealPageQueryDTO.getStatus()),
+					setmealPageQueryDTO.getPage(), setmealPageQueryDTO.getPageSize(), Boolean.TRUE.equals(setmealPageQueryDTO.getEstimate()),
+					() -> setmealMapper.pageQuery(setmealPageQueryDTO, ids));
+			pageResult.getRecords().forEach(setmealVO -> setmealVO.setCategoryName(categoryNameDictionary.getName(setmealVO.getCategoryId())));
+			return pageResult;
 		} catch (Exception e) {
 			log.error("套餐分页查询失败", e);
 			throw new RuntimeException("套餐分页查询失败", e);
@@ -85,16 +128,25 @@ public class SetmealServiceImpl implements SetmealService {
 	@Transactional
 	@Override
 	public void deleteBatch(List<Long> ids) {
-		ids.forEach(id -> {
-			Setmeal setmeal = setmealMapper.getById(id);
-			if(setmeal.getStatus().equals(StatusConstant.ENABLE)) {
+		// 按批执行集合操作，过长的id列表拆分为多批
+		List<List<Long>> batches = BatchUtils.partition(ids.stream().distinct().toList());
+		// 起售中的套餐不能删除
+		for (List<Long> batch : batches) {
+			if (setmealMapper.countByIdsAndStatus(batch, StatusConstant.ENABLE) > 0) {
 				throw new DeletionNotAllowedException(MessageConstant.SETMEAL_ON_SALE);
 			}
-		});
-		ids.forEach(setmealId -> {
-			setmealMapper.deleteById(setmealId);
-			setmealDishMapper.deleteBySetmealId(setmealId);
-		});
+		}
+		List<Long> categoryIds = new ArrayList<>();
+		for (List<Long> batch : batches) {
+			categoryIds.addAll(setmealMapper.getCategoryIdsByIds(batch));
+			setmealMapper.deleteByIds(batch);
+			setmealDishMapper.deleteBySetmealIds(batch);
+		}
+		nameSearchIndex.remove(NameIndexType.SETMEAL, ids);
+		menuAutocomplete.refresh(CatalogType.SETMEAL, ids);
+		// 清理被删除套餐所属分类的缓存，并清理套餐菜品明细缓存
+		setmealCache.evict(categoryIds);
+		setmealDishCache.evict(ids);
 	}
 
 	/**
@@ -104,6 +156,10 @@ public class SetmealServiceImpl implements SetmealService {
 	 */
 	@Override
 	public SetmealVO getByIdWithDish(Long id) {
+		// 布隆过滤器判断不存在的id直接返回，不再查询数据库
+		if (!catalogIdFilter.mightContain(CatalogType.SETMEAL, id)) {
+			return null;
+		}
 		Setmeal setmeal = setmealMapper.getById(id);
 		if(setmeal == null) {
 			return null;
@@ -119,18 +175,40 @@ public class SetmealServiceImpl implements SetmealService {
 	 * 修改套餐信息，同时更新套餐和菜品的关联关系
 	 * @param setmealDTO 套餐信息
 	 */
+	@Transactional
 	@Override
 	public void update(SetmealDTO setmealDTO) {
 		Setmeal setmeal = new Setmeal();
 		BeanUtils.copyProperties(setmealDTO, setmeal);
+		// 记录修改前的分类，套餐可能被移动到其他分类
+		Setmeal original = setmealMapper.getById(setmeal.getId());
 		setmealMapper.update(setmeal);
+		nameSearchIndex.put(NameIndexType.SETMEAL, setmeal.getId(), setmeal.getName());
+		menuAutocomplete.refresh(CatalogType.SETMEAL, List.of(setmeal.getId()));
 		Long setmealId = setmeal.getId();
-		setmealDishMapper.deleteBySetmealId(setmealId);
+		// 与现有关联关系按菜品id比较，只执行需要的新增、修改和删除
 		List<SetmealDish> setmealDishes = setmealDTO.getSetmealDishes();
-		if(setmealDishes!=null && !setmealDishes.isEmpty()) {
+		if(setmealDishes!=null) {
 			setmealDishes.forEach(setmealDish -> setmealDish.setSetmealId(setmealId));
-			setmealDishMapper.insertBatch(setmealDishes);
 		}
+		ChildCollectionDiff<SetmealDish> diff = ChildCollectionDiff.compare(
+				setmealDishMapper.getBySetmealIdForUpdate(setmealId), setmealDishes,
+				SetmealDish::getDishId, SetmealDish::getId, SetmealDish::setId,
+				(current, incoming) -> Objects.equals(current.getName(), incoming.getName())
+						&& Objects.equals(current.getCopies(), incoming.getCopies())
+						&& (current.getPrice() == null ? incoming.getPrice() == null
+						: incoming.getPrice() != null && current.getPrice().compareTo(incoming.getPrice()) == 0));
+		BatchUtils.partition(diff.getDeleteIds()).forEach(setmealDishMapper::deleteByIds);
+		BatchUtils.partition(diff.getUpdates()).forEach(setmealDishMapper::updateBatch);
+		BatchUtils.partition(diff.getInserts()).forEach(setmealDishMapper::insertBatch);
+		// 清理修改前后分类的套餐缓存和该套餐的菜品明细缓存
+		List<Long> categoryIds = new ArrayList<>();
+		if (original != null) {
+			categoryIds.add(original.getCategoryId());
+		}
+		categoryIds.add(setmeal.getCategoryId());
+		setmealCache.evict(categoryIds);
+		setmealDishCache.evict(setmealId);
 	}
 
 	/**
@@ -140,20 +218,108 @@ public class SetmealServiceImpl implements SetmealService {
 	 */
 	@Override
 	public void startOrStop(Integer status, Long id) {
-		if(status.equals(StatusConstant.ENABLE)) {
-			List<Dish> dishes = dishMapper.getBySetmealId(id);
-			if(dishes!=null && !dishes.isEmpty()) {
-				dishes.forEach(dish -> {
-					if(dish.getStatus().equals(StatusConstant.DISABLE)) {
-						throw new SetmealEnableFailedException(MessageConstant.SETMEAL_ENABLE_FAILED);
-					}
-				});
-			}
+		// 套餐内有停售菜品时不能起售
+		if(status.equals(StatusConstant.ENABLE)
+				&& dishMapper.existsBySetmealIdAndStatus(id, StatusConstant.DISABLE)) {
+			throw new SetmealEnableFailedException(MessageConstant.SETMEAL_ENABLE_FAILED);
 		}
 		Setmeal setmeal = Setmeal.builder()
 				.id(id)
 				.status(status)
 				.build();
 		setmealMapper.update(setmeal);
+		menuAutocomplete.refresh(CatalogType.SETMEAL, List.of(id));
+		// 清理该套餐所属分类的缓存
+		Setmeal current = setmealMapper.getById(id);
+		if (current != null) {
+			setmealCache.evict(current.getCategoryId());
+		}
+	}
+
+	/**
+	 * 批量启售或停售套餐
+	 * 起售时每批只用一条查询判断套餐内是否有停售菜品，状态修改为集合更新，全部完成后统一清理缓存
+	 * @param status 套餐状态
+	 * @param ids 套餐id集合
+	 */
+	@Transactional
+	@Override
+	public void startOrStopBatch(Integer status, List<Long> ids) {
+		List<List<Long>> batches = BatchUtils.partition(ids.stream().distinct().toList());
+		if (status.equals(StatusConstant.ENABLE)) {
+			for (List<Long> batch : batches) {
+				if (dishMapper.existsBySetmealIdsAndStatus(batch, StatusConstant.DISABLE)) {
+					throw new SetmealEnableFailedException(MessageConstant.SETMEAL_ENABLE_FAILED);
+				}
+			}
+		}
+		Setmeal setmeal = Setmeal.builder()
+				.status(status)
+				.build();
+		List<Long> categoryIds = new ArrayList<>();
+		for (List<Long> batch : batches) {
+			setmealMapper.updateStatusByIds(setmeal, batch);
+			categoryIds.addAll(setmealMapper.getCategoryIdsByIds(batch));
+		}
+		menuAutocomplete.refresh(CatalogType.SETMEAL, ids);
+		setmealCache.evict(categoryIds);
+	}
+
+	/**
+	 * 根据分类id查询启售的套餐
+	 * @param categoryId 分类id
+	 * @return 套餐列表
+	 */
+	@Override
+	public List<Setmeal> list(Long categoryId) {
+		if (!catalogIdFilter.mightContain(CatalogType.CATEGORY, categoryId)) {
+			return List.of();
+		}
+		// 先查本地缓存和Redis，未命中再查询数据库
+		return setmealCache.get(categoryId, id -> {
+			Setmeal setmeal = Setmeal.builder()
+					.categoryId(id)
+					.status(StatusConstant.ENABLE) // 只查询启售的套餐
+					.build();
+			return setmealMapper.list(setmeal);
+		});
+	}
+
+	/**
+	 * 根据套餐id查询包含的菜品明细
+	 * @param id 套餐id
+	 * @return 菜品明细列表
+	 */
+	@Override
+	public List<DishItemVO> getDishItemById(Long id) {
+		if (!catalogIdFilter.mightContain(CatalogType.SETMEAL, id)) {
+			return List.of();
+		}
+		return setmealDishCache.get(id, setmealMapper::getDishItemBySetmealId);
+	}
+
+	/**
+	 * 根据多个套餐id批量查询包含的菜品明细，Redis 只访问一次
+	 * @param ids 套餐id集合
+	 * @return 套餐id与菜品明细列表
+	 */
+	@Override
+	public Map<Long, List<DishItemVO>> getDishItemByIds(List<Long> ids) {
+		List<Long> setmealIds = ids.stream()
+				.filter(id -> catalogIdFilter.mightContain(CatalogType.SETMEAL, id))
+				.toList();
+		return setmealDishCache.getAll(setmealIds, this::getDishItemBySetmealIds);
+	}
+
+	/**
+	 * 一次查询多个套餐的菜品明细，没有明细的套餐对应空列表，与逐个查询的结果一致
+	 */
+	private Map<Long, List<DishItemVO>> getDishItemBySetmealIds(List<Long> setmealIds) {
+		Map<Long, List<DishItemVO>> result = new LinkedHashMap<>();
+		setmealIds.forEach(setmealId -> result.put(setmealId, new ArrayList<>()));
+		for (DishItemVO item : setmealMapper.getDishItemBySetmealIds(setmealIds)) {
+			result.get(item.getSetmealId()).add(item);
+		}
+		return result;
 	}
 }
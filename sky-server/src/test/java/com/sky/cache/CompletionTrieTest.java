@@ -0,0 +1,165 @@
+package com.sky.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 压缩字典树的新增、拆分、移除、合并和排序
+ */
+class CompletionTrieTest {
+
+	private static CompletionTrie<Integer> ranked(int topK) {
+		CompletionTrie<Integer> trie = new CompletionTrie<>(topK);
+		trie.rank(Comparator.naturalOrder());
+		return trie;
+	}
+
+	@Test
+	void putSplitsSharedEdge() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("abc", 1);
+		trie.put("abd", 2);
+		trie.put("a", 3);
+
+		assertThat(trie.keyCount()).isEqualTo(3);
+		assertThat(trie.topWithPrefix("a", 10)).containsExactly(1, 2, 3);
+		assertThat(trie.topWithPrefix("ab", 10)).containsExactly(1, 2);
+		assertThat(trie.topWithPrefix("abc", 10)).containsExactly(1);
+		assertThat(trie.topWithPrefix("abd", 10)).containsExactly(2);
+		assertThat(trie.topWithPrefix("abe", 10)).isEmpty();
+	}
+
+	@Test
+	void prefixEndingMidEdgeMatchesSubtree() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("hello", 1);
+		trie.put("help", 2);
+
+		assertThat(trie.topWithPrefix("h", 10)).containsExactly(1, 2);
+		assertThat(trie.topWithPrefix("hell", 10)).containsExactly(1);
+		assertThat(trie.topWithPrefix("hex", 10)).isEmpty();
+		assertThat(trie.topWithPrefix("hellox", 10)).isEmpty();
+		assertThat(trie.topWithPrefix("x", 10)).isEmpty();
+	}
+
+	@Test
+	void emptyPrefixMatchesAll() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("b", 2);
+		trie.put("a", 1);
+
+		assertThat(trie.topWithPrefix("", 10)).containsExactly(1, 2);
+	}
+
+	@Test
+	void removeMergesSingleChild() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("abc", 1);
+		trie.put("abd", 2);
+
+		trie.remove("abd", 2);
+
+		assertThat(trie.keyCount()).isEqualTo(1);
+		assertThat(trie.topWithPrefix("ab", 10)).containsExactly(1);
+		assertThat(trie.topWithPrefix("abd", 10)).isEmpty();
+		// 合并后的边仍然可以再次拆分
+		trie.put("abx", 3);
+		assertThat(trie.topWithPrefix("ab", 10)).containsExactly(1, 3);
+		assertThat(trie.topWithPrefix("abc", 10)).containsExactly(1);
+		assertThat(trie.topWithPrefix("abx", 10)).containsExactly(3);
+	}
+
+	@Test
+	void removeKeepsOtherValuesOnSameKey() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("abc", 1);
+		trie.put("abc", 2);
+
+		trie.remove("abc", 1);
+
+		assertThat(trie.keyCount()).isEqualTo(1);
+		assertThat(trie.topWithPrefix("a", 10)).containsExactly(2);
+	}
+
+	@Test
+	void removeMissingKeyOrValueIsNoop() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("abc", 1);
+
+		trie.remove("ab", 1);
+		trie.remove("abcd", 1);
+		trie.remove("abc", 2);
+		trie.remove("", 1);
+		trie.remove(null, 1);
+
+		assertThat(trie.keyCount()).isEqualTo(1);
+		assertThat(trie.topWithPrefix("abc", 10)).containsExactly(1);
+	}
+
+	@Test
+	void removeLastKeyEmptiesTrie() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("abc", 1);
+
+		trie.remove("abc", 1);
+
+		assertThat(trie.keyCount()).isZero();
+		assertThat(trie.topWithPrefix("", 10)).isEmpty();
+		assertThat(trie.topWithPrefix("a", 10)).isEmpty();
+	}
+
+	@Test
+	void sameValueOnSeveralKeysReturnedOnce() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("gongbao", 1);
+		trie.put("gb", 1);
+		trie.put("gan", 2);
+
+		assertThat(trie.keyCount()).isEqualTo(3);
+		assertThat(trie.topWithPrefix("g", 10)).containsExactly(1, 2);
+	}
+
+	@Test
+	void topIsEmptyBeforeRank() {
+		CompletionTrie<Integer> trie = new CompletionTrie<>(10);
+		trie.put("abc", 1);
+
+		assertThat(trie.topWithPrefix("a", 10)).isEmpty();
+
+		trie.rank(Comparator.naturalOrder());
+		assertThat(trie.topWithPrefix("a", 10)).containsExactly(1);
+	}
+
+	@Test
+	void rankReordersExistingNodes() {
+		CompletionTrie<Integer> trie = ranked(10);
+		trie.put("ab", 1);
+		trie.put("ac", 2);
+		trie.put("b", 3);
+
+		trie.rank(Comparator.reverseOrder());
+
+		assertThat(trie.topWithPrefix("", 10)).containsExactly(3, 2, 1);
+		assertThat(trie.topWithPrefix("a", 10)).containsExactly(2, 1);
+		// rank 之后的新增按新的排序规则维护
+		trie.put("ad", 4);
+		assertThat(trie.topWithPrefix("a", 10)).containsExactly(4, 2, 1);
+	}
+
+	@Test
+	void topIsCappedByTopKAndLimit() {
+		CompletionTrie<Integer> trie = ranked(3);
+		for (int i = 1; i <= 5; i++) {
+			trie.put("k" + i, i);
+		}
+
+		assertThat(trie.topWithPrefix("k", 10)).containsExactly(1, 2, 3);
+		assertThat(trie.topWithPrefix("k", 2)).containsExactly(1, 2);
+		// 移除靠前的值后由子树中后面的值补上
+		trie.remove("k1", 1);
+		assertThat(trie.topWithPrefix("k", 10)).containsExactly(2, 3, 4);
+	}
+}
@@ -0,0 +1,50 @@
+package com.sky.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 菜单联想的检索 key：名称、全拼、拼音首字母
+ */
+class MenuAutocompleteTest {
+
+	@Test
+	void keysContainNamePinyinAndInitials() {
+		Set<String> keys = MenuAutocomplete.keys("宫保鸡丁");
+
+		assertThat(keys).contains("宫保鸡丁", "gongbaojiding", "gbjd");
+	}
+
+	@Test
+	void keysAreNormalized() {
+		Set<String> keys = MenuAutocomplete.keys("Coke 可乐");
+
+		assertThat(keys).contains("coke可乐", "cokekele", "cokekl");
+		assertThat(keys).allMatch(key -> key.equals(MenuAutocomplete.normalize(key)));
+	}
+
+	@Test
+	void polyphonesExpandToEachReading() {
+		Set<String> keys = MenuAutocomplete.keys("长");
+
+		assertThat(keys).contains("长", "zhang", "chang", "z", "c");
+	}
+
+	@Test
+	void polyphoneReadingsAreCapped() {
+		// 重、长、行、乐都是多音字，读音组合超过上限
+		Set<String> keys = MenuAutocomplete.keys("重长行乐");
+
+		assertThat(keys).contains("重长行乐", "zhongzhangxingle", "zzxl");
+		assertThat(keys.stream().filter(key -> key.length() > 4)).hasSize(8);
+		assertThat(keys.stream().filter(key -> key.length() == 4 && !key.equals("重长行乐"))).hasSize(8);
+	}
+
+	@Test
+	void nullNameHasNoKeys() {
+		assertThat(MenuAutocomplete.keys(null)).isEmpty();
+	}
+}